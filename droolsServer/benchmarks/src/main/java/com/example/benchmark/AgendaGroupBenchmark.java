@@ -0,0 +1,123 @@
+package com.example.benchmark;
+
+import com.example.model.AutoAssignmentContext;
+import com.example.model.EligibleEmployees;
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftEnrollment;
+import com.example.model.Shift_Date;
+import com.example.service.DroolsService;
+import com.example.util.KieSessionPool;
+import com.example.util.Sort;
+import org.kie.api.runtime.KieSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single fireAllRules call of one agenda group, on a session brought to
+ * the state the assignment flow has right before that call in its first
+ * round. The sorting group gets every employee as eligible, which is its
+ * worst case. Allocations reported by -prof gc include the per-invocation
+ * session setup, which is the same for every group of a roster size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AgendaGroupBenchmark {
+    @Param({ "10", "100", "1000", "10000" })
+    public int employees;
+
+    @Param({ "EnrollmentShiftRule", "EnrollmentEmployeeRule", "ShiftRule", "EmployeeRule", "EmployeeSortingRule" })
+    public String agendaGroup;
+
+    private DroolsService droolsService;
+    private KieSessionPool.Lease lease;
+    private KieSession kieSession;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        droolsService = BenchmarkSupport.newDroolsService();
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareSession() {
+        Roster roster = RosterGenerator.generate(employees);
+        lease = droolsService.borrowKieSession();
+        kieSession = lease.getKieSession();
+
+        for (Employee employee : roster.getEmployees()) {
+            kieSession.insert(employee);
+        }
+        for (Shift_Date shiftDate : roster.getShiftDates()) {
+            kieSession.insert(shiftDate);
+        }
+        for (ShiftAssignment existingAssignment : roster.getExistingAssignments()) {
+            kieSession.insert(existingAssignment);
+        }
+        for (ShiftEnrollment enrollment : roster.getEnrollments()) {
+            kieSession.insert(enrollment);
+        }
+        AutoAssignmentContext context = new AutoAssignmentContext();
+        EligibleEmployees eligibleEmployees = new EligibleEmployees();
+        kieSession.insert(context);
+        kieSession.insert(eligibleEmployees);
+        kieSession.insert(new Sort(true, Sort.SortBy.PRIORITY, Sort.SortType.DESCENDING));
+
+        boolean enrollmentPhase = agendaGroup.startsWith("Enrollment") || agendaGroup.equals("EmployeeSortingRule");
+        if (agendaGroup.equals("EnrollmentShiftRule") || agendaGroup.equals("ShiftRule")) {
+            return;
+        }
+
+        // Employee rules run against the first assignable shift
+        fire(enrollmentPhase ? "EnrollmentShiftRule" : "ShiftRule");
+        for (Shift_Date shiftDate : roster.getShiftDates()) {
+            if (shiftDate.isAssignable() && !shiftDate.isDeletable()) {
+                context.setCurrentShift(shiftDate);
+                break;
+            }
+        }
+        kieSession.update(kieSession.getFactHandle(context), context);
+
+        if (agendaGroup.equals("EmployeeSortingRule")) {
+            fire("EnrollmentEmployeeRule");
+            eligibleEmployees.setEmployees(roster.getEmployees());
+            kieSession.update(kieSession.getFactHandle(eligibleEmployees), eligibleEmployees);
+        }
+    }
+
+    @Benchmark
+    public int fireAllRules() {
+        return fire(agendaGroup);
+    }
+
+    private int fire(String group) {
+        kieSession.getAgenda().getAgendaGroup(group).setFocus();
+        return kieSession.fireAllRules();
+    }
+
+    @TearDown(Level.Invocation)
+    public void releaseSession() {
+        lease.close();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        droolsService.cleanup();
+    }
+}
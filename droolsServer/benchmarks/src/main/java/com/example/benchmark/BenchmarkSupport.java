@@ -0,0 +1,49 @@
+package com.example.benchmark;
+
+import com.example.service.DroolsService;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.File;
+import java.lang.reflect.Field;
+
+/**
+ * Wires services the way Spring would, without starting an application
+ * context or a database.
+ */
+public class BenchmarkSupport {
+
+    /**
+     * A started DroolsService that compiles the decision table on disk, with
+     * the prebuilt model and the KieBase cache turned off.
+     */
+    public static DroolsService newDroolsService() {
+        return newDroolsService(null);
+    }
+
+    /**
+     * Like {@link #newDroolsService()}, but with the KieBase cache in the
+     * given directory; null turns the cache off.
+     */
+    public static DroolsService newDroolsService(File kieBaseCacheDir) {
+        DroolsService droolsService = new DroolsService();
+        inject(droolsService, "decisionTablePath", "src/main/resources/dtables/drools_decisiontable.drl.xlsx");
+        inject(droolsService, "sessionPoolMaxSize", 4);
+        inject(droolsService, "sessionPoolBorrowTimeoutMillis", 30000L);
+        inject(droolsService, "kieBaseCacheEnabled", kieBaseCacheDir != null);
+        inject(droolsService, "kieBaseCacheDir", kieBaseCacheDir != null ? kieBaseCacheDir.getPath() : ".kiebase-cache");
+        inject(droolsService, "prebuiltModelEnabled", false);
+        inject(droolsService, "hotReloadDebounceMillis", 500L);
+        droolsService.init();
+        return droolsService;
+    }
+
+    // Sets an @Autowired or @Value field
+    public static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.benchmark;
+
+import com.example.model.ShiftEnrollment;
+import com.example.util.DayShiftCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-day counter work of a full run without the rule engine: one week
+ * initialized per employee, then a lookup and an increment per enrollment,
+ * as the day threshold conditions and assignments do. "map" is the previous
+ * HashMap<LocalDate, Integer> representation; compare both with -prof gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DayShiftCounterBenchmark {
+    @Param({ "100", "1000", "10000" })
+    public int employees;
+
+    @Param({ "map", "counters" })
+    public String representation;
+
+    private List<ShiftEnrollment> enrollments;
+    private LocalDate weekStart;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Roster roster = RosterGenerator.generate(employees);
+        enrollments = roster.getEnrollments();
+        weekStart = roster.getShiftDates().get(0).getShiftDate().toLocalDate();
+    }
+
+    @Benchmark
+    public long run() {
+        return representation.equals("map") ? runMap() : runCounters();
+    }
+
+    private long runMap() {
+        HashMap<Integer, HashMap<LocalDate, Integer>> byEmployee = new HashMap<>();
+        for (int employeeId = 1; employeeId <= employees; employeeId++) {
+            HashMap<LocalDate, Integer> days = new HashMap<>();
+            for (int i = 0; i < 7; i++) {
+                days.put(weekStart.plusDays(i), 0);
+            }
+            byEmployee.put(employeeId, days);
+        }
+        long total = 0;
+        for (ShiftEnrollment enrollment : enrollments) {
+            HashMap<LocalDate, Integer> days = byEmployee.get(enrollment.getEmployeeId());
+            LocalDateTime shiftDate = enrollment.getShiftDate();
+            int count = days.getOrDefault(shiftDate.toLocalDate(), 0);
+            total += count;
+            days.put(shiftDate.toLocalDate(), count + 1);
+        }
+        return total;
+    }
+
+    private long runCounters() {
+        HashMap<Integer, DayShiftCounters> byEmployee = new HashMap<>();
+        for (int employeeId = 1; employeeId <= employees; employeeId++) {
+            byEmployee.put(employeeId, new DayShiftCounters(weekStart, 7));
+        }
+        long total = 0;
+        for (ShiftEnrollment enrollment : enrollments) {
+            DayShiftCounters days = byEmployee.get(enrollment.getEmployeeId());
+            LocalDateTime shiftDate = enrollment.getShiftDate();
+            total += days.get(shiftDate);
+            days.increment(shiftDate);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.benchmark;
+
+import com.example.service.DroolsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * DroolsService startup. "compile" reads the decision table, compiles every
+ * rule group and validates the new rule base, and grows with the decision
+ * table. "cache" starts from a KieBase cache warmed in the trial setup, so
+ * it only hashes the table and deserializes the stored packages. A start
+ * leaves no compile running in the background, so the score is the whole
+ * cost of bringing the service up.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DroolsServiceBuildBenchmark {
+    @Param({ "compile", "cache" })
+    public String source;
+
+    private File kieBaseCacheDir;
+    private DroolsService droolsService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (source.equals("cache")) {
+            kieBaseCacheDir = Files.createTempDirectory("kiebase-cache").toFile();
+            // Compiles the table once and stores it
+            BenchmarkSupport.newDroolsService(kieBaseCacheDir).cleanup();
+        }
+    }
+
+    @Benchmark
+    public DroolsService buildRuleBase() {
+        droolsService = BenchmarkSupport.newDroolsService(kieBaseCacheDir);
+        return droolsService;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        droolsService.cleanup();
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCache() throws IOException {
+        if (kieBaseCacheDir == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(kieBaseCacheDir.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.benchmark;
+
+import com.example.dto.AssignmentColumns;
+import com.example.dto.AssignmentResult;
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.Shift_Date;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the assignments of a response as JSON. "entity" is the former
+ * list of ShiftAssignment entities, "rows" the flat AssignmentResult list
+ * and "columns" the columnar encoding. The payload size of each format is
+ * printed at the end of a trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+    @Param({ "100", "10000" })
+    public int assignments;
+
+    @Param({ "entity", "rows", "columns" })
+    public String format;
+
+    // Configured like the Spring Boot ObjectMapper: ISO dates
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private Object payload;
+    private int bytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime weekStart = LocalDate.now().atStartOfDay();
+        List<ShiftAssignment> rows = new ArrayList<>(assignments);
+        for (int i = 0; i < assignments; i++) {
+            Shift_Date shift = new Shift_Date(3 + i % 4, weekStart.plusDays(i / 4 % 7), 0, false, false);
+            rows.add(new ShiftAssignment(new Employee(i / 28 + 1), shift, i % 3 == 0 ? "approved" : "pending"));
+        }
+        if (format.equals("rows")) {
+            payload = AssignmentResult.fromAssignments(rows);
+        } else if (format.equals("columns")) {
+            payload = new AssignmentColumns(rows);
+        } else {
+            payload = rows;
+        }
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(payload);
+        bytes = json.length;
+        return json;
+    }
+
+    @TearDown(Level.Trial)
+    public void printSize() {
+        System.out.println(format + " payload of " + assignments + " assignments: " + bytes + " bytes");
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.benchmark;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftEnrollment;
+import com.example.model.Shift_Date;
+
+import java.util.List;
+
+/**
+ * The working set of one auto-assignment run, as AutoAssignmentService has it
+ * after loading: counters of the employees and shifts already include the
+ * existing assignments.
+ */
+public class Roster {
+    private final List<Employee> employees;
+    private final List<Shift_Date> shiftDates;
+    private final List<ShiftEnrollment> enrollments;
+    private final List<ShiftAssignment> existingAssignments;
+
+    public Roster(List<Employee> employees, List<Shift_Date> shiftDates, List<ShiftEnrollment> enrollments,
+            List<ShiftAssignment> existingAssignments) {
+        this.employees = employees;
+        this.shiftDates = shiftDates;
+        this.enrollments = enrollments;
+        this.existingAssignments = existingAssignments;
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public List<Shift_Date> getShiftDates() {
+        return shiftDates;
+    }
+
+    public List<ShiftEnrollment> getEnrollments() {
+        return enrollments;
+    }
+
+    public List<ShiftAssignment> getExistingAssignments() {
+        return existingAssignments;
+    }
+}
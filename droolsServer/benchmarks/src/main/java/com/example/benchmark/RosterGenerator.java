@@ -0,0 +1,72 @@
+package com.example.benchmark;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftEnrollment;
+import com.example.model.Shift_Date;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds a deterministic next-week roster of a given size: the part-time
+ * shifts (shiftId 3 to 6) of every day, one to six enrollments per employee
+ * and an existing approved assignment for about a quarter of them.
+ */
+public class RosterGenerator {
+    private static final long SEED = 42;
+    private static final int FIRST_SHIFT_ID = 3;
+    private static final int LAST_SHIFT_ID = 6;
+    private static final int MAX_EMPLOYEES_PER_SHIFT = 2;
+    private static final int MAX_ENROLLMENTS_PER_EMPLOYEE = 6;
+
+    public static Roster generate(int employeeCount) {
+        Random random = new Random(SEED);
+        int currentDayOfWeek = LocalDate.now().getDayOfWeek().getValue();
+        LocalDateTime nextWeekStart = LocalDate.now().plusDays(7 - currentDayOfWeek + 1).atStartOfDay();
+
+        List<Shift_Date> shiftDates = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            for (int shiftId = FIRST_SHIFT_ID; shiftId <= LAST_SHIFT_ID; shiftId++) {
+                shiftDates.add(new Shift_Date(shiftId, nextWeekStart.plusDays(day), 0, false, false));
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        List<ShiftEnrollment> enrollments = new ArrayList<>();
+        List<ShiftAssignment> existingAssignments = new ArrayList<>();
+        for (int employeeId = 1; employeeId <= employeeCount; employeeId++) {
+            // Penalties spread the priority scores so sorting has work to do
+            Employee employee = new Employee(employeeId, random.nextInt(3), random.nextInt(2));
+            employee.resetAssignedShiftInDay(nextWeekStart.toLocalDate(), 7);
+            employees.add(employee);
+
+            Set<Shift_Date> taken = new HashSet<>();
+            if (random.nextInt(4) == 0) {
+                Shift_Date shift = shiftDates.get(random.nextInt(shiftDates.size()));
+                if (shift.getAssignedEmployees() < MAX_EMPLOYEES_PER_SHIFT) {
+                    existingAssignments.add(new ShiftAssignment(employee, shift, "approved"));
+                    shift.setAssignedEmployees(shift.getAssignedEmployees() + 1);
+                    employee.incrementAssignedShiftInDay(shift.getShiftDate());
+                    employee.setAssingedShiftInWeek(employee.getAssignedShiftInWeek() + 1);
+                    taken.add(shift);
+                }
+            }
+
+            int enrollmentCount = 1 + random.nextInt(MAX_ENROLLMENTS_PER_EMPLOYEE);
+            for (int i = 0; i < enrollmentCount; i++) {
+                Shift_Date shift = shiftDates.get(random.nextInt(shiftDates.size()));
+                if (taken.add(shift)) {
+                    enrollments.add(new ShiftEnrollment(employee, shift));
+                }
+            }
+        }
+
+        return new Roster(employees, shiftDates, enrollments, existingAssignments);
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.benchmark;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.Shift_Date;
+import com.example.repository.ShiftAssignmentBatchRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing the assignments of a run in one transaction. "entity" repeats
+ * what saveAll does for the composite-key entity, a SELECT and an INSERT
+ * per row; "batch" and "copy" are the two paths of upsertAll. Needs a
+ * PostgreSQL database, set with -Dbenchmark.jdbc.url, .user and .password;
+ * the rows go to a shift_assignment table without foreign keys in the
+ * shift_assignment_bench schema, which is created if missing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ShiftAssignmentPersistenceBenchmark {
+    private static final String SCHEMA = "shift_assignment_bench";
+
+    @Param({ "10000" })
+    public int assignments;
+
+    @Param({ "entity", "batch", "copy" })
+    public String method;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ShiftAssignmentBatchRepositoryImpl repository;
+    private List<ShiftAssignment> rows;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("benchmark.jdbc.url",
+                        "jdbc:postgresql://localhost:5433/postgres?reWriteBatchedInserts=true&currentSchema=" + SCHEMA),
+                System.getProperty("benchmark.jdbc.user", "admin"),
+                System.getProperty("benchmark.jdbc.password", "123"));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + SCHEMA + ".shift_assignment"
+                + " (employeeid integer, shiftid integer, shiftdate timestamptz, assignmentstatus varchar,"
+                + " PRIMARY KEY (employeeid, shiftid, shiftdate))");
+
+        repository = new ShiftAssignmentBatchRepositoryImpl();
+        BenchmarkSupport.inject(repository, "jdbcTemplate", jdbcTemplate);
+        BenchmarkSupport.inject(repository, "batchSize", 500);
+        BenchmarkSupport.inject(repository, "copyThreshold", method.equals("copy") ? 1 : 0);
+
+        // One shift per employee and day, four part-time shifts a day
+        LocalDateTime weekStart = LocalDate.now().atStartOfDay();
+        rows = new ArrayList<>(assignments);
+        for (int i = 0; i < assignments; i++) {
+            Shift_Date shift = new Shift_Date(3 + i % 4, weekStart.plusDays(i / 4 % 7), 0, false, false);
+            rows.add(new ShiftAssignment(new Employee(i / 28 + 1), shift, "approved"));
+        }
+    }
+
+    // Every invocation inserts, as a run creates new assignments
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        jdbcTemplate.execute("TRUNCATE " + SCHEMA + ".shift_assignment");
+    }
+
+    @Benchmark
+    public Integer persist() {
+        return transactionTemplate.execute(status -> {
+            if (!method.equals("entity")) {
+                return repository.upsertAll(rows);
+            }
+            for (ShiftAssignment row : rows) {
+                Timestamp shiftDate = Timestamp.valueOf(row.getShiftDate());
+                jdbcTemplate.queryForList("SELECT employeeid, shiftid, shiftdate, assignmentstatus"
+                        + " FROM shift_assignment WHERE employeeid = ? AND shiftid = ? AND shiftdate = ?",
+                        row.getEmployeeId(), row.getShiftId(), shiftDate);
+                jdbcTemplate.update("INSERT INTO shift_assignment"
+                        + " (employeeid, shiftid, shiftdate, assignmentstatus) VALUES (?, ?, ?, ?)",
+                        row.getEmployeeId(), row.getShiftId(), shiftDate, row.getAssignmentStatus());
+            }
+            return rows.size();
+        });
+    }
+}
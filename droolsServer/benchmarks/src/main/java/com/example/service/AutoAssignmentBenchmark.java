@@ -0,0 +1,94 @@
+package com.example.service;
+
+import com.example.benchmark.BenchmarkSupport;
+import com.example.benchmark.Roster;
+import com.example.benchmark.RosterGenerator;
+import com.example.model.ShiftAssignment;
+import com.example.util.AssignmentThresholds;
+import com.example.util.Sort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full assignment run (enrollment and remaining phases) on a fresh
+ * roster, with the Drools rule flow or the fast path. Allocations reported
+ * by -prof gc include generating the roster; rosterOnly measures that part
+ * alone, so the allocation of the run itself is the difference.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AutoAssignmentBenchmark {
+    @Param({ "10", "100", "1000", "10000" })
+    public int employees;
+
+    @Param({ "drools", "fast" })
+    public String engine;
+
+    private DroolsService droolsService;
+    private AutoAssignmentService autoAssignmentService;
+    private FastPathAssignmentEngine fastPathEngine;
+    private AssignmentThresholds thresholds;
+    // Sort option 1, priority descending
+    private final Sort sort = new Sort(true, Sort.SortBy.PRIORITY, Sort.SortType.DESCENDING);
+    private Roster roster;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        droolsService = BenchmarkSupport.newDroolsService();
+        fastPathEngine = new FastPathAssignmentEngine();
+        autoAssignmentService = new AutoAssignmentService();
+        BenchmarkSupport.inject(autoAssignmentService, "droolsService", droolsService);
+        BenchmarkSupport.inject(autoAssignmentService, "fastPathEngine", fastPathEngine);
+        BenchmarkSupport.inject(autoAssignmentService, "metrics", new AutoAssignmentMetrics(new SimpleMeterRegistry()));
+        thresholds = droolsService.getAssignmentThresholds();
+        if (engine.equals("fast") && thresholds == null) {
+            throw new IllegalStateException("The decision table is not supported by the fast path");
+        }
+    }
+
+    // A run updates the counters of its entities, so every run gets new ones
+    @Setup(Level.Invocation)
+    public void newRoster() {
+        roster = RosterGenerator.generate(employees);
+    }
+
+    @Benchmark
+    public List<ShiftAssignment> executeAssignmentLogic() {
+        if (engine.equals("fast")) {
+            return fastPathEngine.assign(roster.getEmployees(), roster.getShiftDates(), roster.getEnrollments(),
+                    roster.getExistingAssignments(), sort, thresholds);
+        }
+        return autoAssignmentService.executeAssignmentLogic(roster.getEmployees(), roster.getShiftDates(),
+                roster.getEnrollments(), roster.getExistingAssignments(), sort);
+    }
+
+    // Baseline for -prof gc: only the per-invocation roster setup
+    @Benchmark
+    public Roster rosterOnly() {
+        return roster;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        droolsService.cleanup();
+    }
+}
@@ -13,6 +13,7 @@ Write-Host "Once started, you can access:" -ForegroundColor Cyan
 Write-Host "- Swagger UI: http://localhost:8080/swagger-ui.html" -ForegroundColor White
 Write-Host "- API Documentation: http://localhost:8080/v3/api-docs" -ForegroundColor White
 Write-Host "- Auto Assignment Endpoint: POST http://localhost:8080/api/autoassignment" -ForegroundColor White
+Write-Host "- Prometheus Metrics: http://localhost:8080/actuator/prometheus" -ForegroundColor White
 Write-Host ""
 
 # Function to check if a command exists
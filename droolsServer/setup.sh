@@ -23,6 +23,7 @@ echo -e "${CYAN}Once started, you can access:${NC}"
 echo -e "${WHITE}- Swagger UI: http://localhost:8080/swagger-ui.html${NC}"
 echo -e "${WHITE}- API Documentation: http://localhost:8080/v3/api-docs${NC}"
 echo -e "${WHITE}- Auto Assignment Endpoint: POST http://localhost:8080/api/autoassignment${NC}"
+echo -e "${WHITE}- Prometheus Metrics: http://localhost:8080/actuator/prometheus${NC}"
 echo ""
 
 # Function to check if a command exists
@@ -1,12 +1,21 @@
 package com.example.controller;
 
+import com.example.service.AutoAssignmentJobService;
 import com.example.service.AutoAssignmentService;
 import com.example.service.DroolsService;
+import com.example.service.PenaltyScoreCache;
+import com.example.dto.AutoAssignmentJobStatus;
 import com.example.dto.AutoAssignmentRequest;
 import com.example.dto.AutoAssignmentResponse;
+import com.example.dto.KieSessionPoolStats;
+import com.example.dto.RuleBaseStats;
+import com.example.dto.RuleProfile;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,6 +25,8 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
 
+import java.util.concurrent.RejectedExecutionException;
+
 @RestController
 @RequestMapping("/api")
 @Tag(name = "Auto Assignment", description = "APIs for automatic shift assignment using Drools")
@@ -24,9 +35,15 @@ public class AutoAssignmentController {
     @Autowired
     private AutoAssignmentService autoAssignmentService;
 
+    @Autowired
+    private AutoAssignmentJobService autoAssignmentJobService;
+
     @Autowired
     private DroolsService droolsService;
 
+    @Autowired
+    private PenaltyScoreCache penaltyScoreCache;
+
     @PostMapping("/auto-assignment")
     @Operation(summary = "Execute automatic shift assignment", description = "Processes employees and shifts for next week using Drools business rules with configurable sort options")
     @ApiResponses(value = {
@@ -35,7 +52,8 @@ public class AutoAssignmentController {
             @ApiResponse(responseCode = "500", description = "Internal server error during assignment")
     })
     @RequestBody(description = "Auto assignment request with sort options", required = true, content = @Content(schema = @Schema(implementation = AutoAssignmentRequest.class), mediaType = "application/json", examples = @ExampleObject(name = "Basic Example", value = "{ \"sortOption\": 2 }")))
-    public ResponseEntity<AutoAssignmentResponse> performAutoAssignment(@RequestBody AutoAssignmentRequest request) {
+    public ResponseEntity<AutoAssignmentResponse> performAutoAssignment(
+            @org.springframework.web.bind.annotation.RequestBody AutoAssignmentRequest request) {
 
         try {
             AutoAssignmentResponse response = autoAssignmentService.performAutoAssignment(request);
@@ -54,6 +72,44 @@ public class AutoAssignmentController {
         }
     }
 
+    @PostMapping("/auto-assignment/jobs")
+    @Operation(summary = "Submit an automatic shift assignment job", description = "Queues the same assignment as POST /api/auto-assignment and returns a job id right away; poll the job or subscribe to its events for progress and the result")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Job queued", content = @Content(schema = @Schema(implementation = AutoAssignmentJobStatus.class))),
+            @ApiResponse(responseCode = "503", description = "Job queue is full, retry later")
+    })
+    @RequestBody(description = "Auto assignment request with sort options", required = true, content = @Content(schema = @Schema(implementation = AutoAssignmentRequest.class), mediaType = "application/json", examples = @ExampleObject(name = "Basic Example", value = "{ \"sortOption\": 2 }")))
+    public ResponseEntity<AutoAssignmentJobStatus> submitAutoAssignmentJob(
+            @org.springframework.web.bind.annotation.RequestBody AutoAssignmentRequest request) {
+        try {
+            return ResponseEntity.accepted().body(autoAssignmentJobService.submit(request));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    @GetMapping("/auto-assignment/jobs/{jobId}")
+    @Operation(summary = "Get auto assignment job status", description = "Returns the phase and number of assignments made so far, and the assignment result once the job has finished")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Job status retrieved successfully", content = @Content(schema = @Schema(implementation = AutoAssignmentJobStatus.class))),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    public ResponseEntity<AutoAssignmentJobStatus> getAutoAssignmentJob(@PathVariable String jobId) {
+        AutoAssignmentJobStatus status = autoAssignmentJobService.getStatus(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+
+    @GetMapping(value = "/auto-assignment/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream auto assignment job progress", description = "Server-Sent Events stream of \"progress\" events carrying the job status, closed when the job finishes")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    public ResponseEntity<SseEmitter> streamAutoAssignmentJob(@PathVariable String jobId) {
+        SseEmitter emitter = autoAssignmentJobService.subscribe(jobId);
+        return emitter != null ? ResponseEntity.ok(emitter) : ResponseEntity.notFound().build();
+    }
+
     @GetMapping("/auto-assignment/options")
     @Operation(summary = "Get available sort options", description = "Returns the available sort options for auto-assignment")
     @ApiResponse(responseCode = "200", description = "Sort options retrieved successfully")
@@ -77,8 +133,16 @@ public class AutoAssignmentController {
         return ResponseEntity.ok("Drools Decision Table Application is running! " +
                 "Available endpoints: " +
                 "POST /api/auto-assignment, " +
+                "POST /api/auto-assignment/jobs, " +
+                "GET /api/auto-assignment/jobs/{jobId}, " +
+                "GET /api/auto-assignment/jobs/{jobId}/events, " +
                 "GET /api/auto-assignment/options, " +
                 "GET /api/drl, " + 
+                "GET /api/drools/session-pool, " +
+                "GET /api/drools/rule-base, " +
+                "GET /api/rules/profile, " +
+                "DELETE /api/rules/profile, " +
+                "DELETE /api/penalty-scores/cache, " +
                 "GET /api/health");
     }
 
@@ -88,4 +152,45 @@ public class AutoAssignmentController {
         String drlRules = droolsService.getDrlRules();
         return ResponseEntity.ok(drlRules);
     }
+
+    @GetMapping("/drools/session-pool")
+    @Operation(summary = "Get KieSession pool metrics", description = "Returns size, usage and wait statistics of the Drools KieSession pool")
+    @ApiResponse(responseCode = "200", description = "Pool metrics retrieved successfully", content = @Content(schema = @Schema(implementation = KieSessionPoolStats.class)))
+    public ResponseEntity<KieSessionPoolStats> getSessionPoolStats() {
+        return ResponseEntity.ok(droolsService.getSessionPoolStats());
+    }
+
+    @GetMapping("/drools/rule-base")
+    @Operation(summary = "Get active rule base version", description = "Returns the active decision table version and hot reload latency metrics")
+    @ApiResponse(responseCode = "200", description = "Rule base metrics retrieved successfully", content = @Content(schema = @Schema(implementation = RuleBaseStats.class)))
+    public ResponseEntity<RuleBaseStats> getRuleBaseStats() {
+        return ResponseEntity.ok(droolsService.getRuleBaseStats());
+    }
+
+    @GetMapping("/rules/profile")
+    @Operation(summary = "Get per-rule profile", description = "Returns match counts, fire counts and consequence time per decision table rule, across all sessions since startup or the last reset; requires drools.rule-profiler.enabled=true")
+    @ApiResponse(responseCode = "200", description = "Rule profile retrieved successfully", content = @Content(schema = @Schema(implementation = RuleProfile.class)))
+    public ResponseEntity<RuleProfile> getRuleProfile() {
+        return ResponseEntity.ok(droolsService.getRuleProfile());
+    }
+
+    @DeleteMapping("/rules/profile")
+    @Operation(summary = "Reset per-rule profile", description = "Clears the rule statistics, for example before profiling a single run")
+    @ApiResponse(responseCode = "204", description = "Rule profile reset")
+    public ResponseEntity<Void> resetRuleProfile() {
+        droolsService.resetRuleProfile();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/penalty-scores/cache")
+    @Operation(summary = "Invalidate cached priority scores", description = "Drops the cached penalty counts of one employee, or of all employees without employeeId; call it after writing penalty records outside this service")
+    @ApiResponse(responseCode = "204", description = "Cache entries dropped")
+    public ResponseEntity<Void> invalidatePenaltyScores(@RequestParam(required = false) Integer employeeId) {
+        if (employeeId != null) {
+            penaltyScoreCache.invalidate(employeeId);
+        } else {
+            penaltyScoreCache.invalidateAll();
+        }
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -0,0 +1,58 @@
+package com.example.dto;
+
+import com.example.model.ShiftAssignment;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Created assignments as parallel arrays, index i of every array being one
+ * assignment. Field names are written once instead of once per assignment.
+ */
+@Schema(description = "Shift assignments created by a run, one array per field")
+public class AssignmentColumns {
+
+    @Schema(description = "Assigned employees")
+    private final int[] employeeIds;
+
+    @Schema(description = "Assigned shifts")
+    private final int[] shiftIds;
+
+    @Schema(description = "Day and start of each shift")
+    private final LocalDateTime[] shiftDates;
+
+    @Schema(description = "approved for enrolled shifts, pending for the others")
+    private final String[] assignmentStatuses;
+
+    public AssignmentColumns(List<ShiftAssignment> assignments) {
+        int size = assignments.size();
+        employeeIds = new int[size];
+        shiftIds = new int[size];
+        shiftDates = new LocalDateTime[size];
+        assignmentStatuses = new String[size];
+        for (int i = 0; i < size; i++) {
+            ShiftAssignment assignment = assignments.get(i);
+            employeeIds[i] = assignment.getEmployeeId();
+            shiftIds[i] = assignment.getShiftId();
+            shiftDates[i] = assignment.getShiftDate();
+            assignmentStatuses[i] = assignment.getAssignmentStatus();
+        }
+    }
+
+    public int[] getEmployeeIds() {
+        return employeeIds;
+    }
+
+    public int[] getShiftIds() {
+        return shiftIds;
+    }
+
+    public LocalDateTime[] getShiftDates() {
+        return shiftDates;
+    }
+
+    public String[] getAssignmentStatuses() {
+        return assignmentStatuses;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.dto;
+
+import com.example.model.ShiftAssignment;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One created assignment as plain values. Same JSON fields as the
+ * ShiftAssignment entity, without its employee and shift associations.
+ */
+@Schema(description = "Shift assignment created by a run")
+public class AssignmentResult {
+
+    @Schema(description = "Assigned employee", example = "12")
+    private final int employeeId;
+
+    @Schema(description = "Assigned shift", example = "3")
+    private final int shiftId;
+
+    @Schema(description = "Day and start of the shift", example = "2025-01-06T00:00:00")
+    private final LocalDateTime shiftDate;
+
+    @Schema(description = "approved for enrolled shifts, pending for the others", example = "approved")
+    private final String assignmentStatus;
+
+    public AssignmentResult(int employeeId, int shiftId, LocalDateTime shiftDate, String assignmentStatus) {
+        this.employeeId = employeeId;
+        this.shiftId = shiftId;
+        this.shiftDate = shiftDate;
+        this.assignmentStatus = assignmentStatus;
+    }
+
+    public static List<AssignmentResult> fromAssignments(List<ShiftAssignment> assignments) {
+        List<AssignmentResult> results = new ArrayList<>(assignments.size());
+        for (ShiftAssignment assignment : assignments) {
+            results.add(new AssignmentResult(assignment.getEmployeeId(), assignment.getShiftId(),
+                    assignment.getShiftDate(), assignment.getAssignmentStatus()));
+        }
+        return results;
+    }
+
+    public int getEmployeeId() {
+        return employeeId;
+    }
+
+    public int getShiftId() {
+        return shiftId;
+    }
+
+    public LocalDateTime getShiftDate() {
+        return shiftDate;
+    }
+
+    public String getAssignmentStatus() {
+        return assignmentStatus;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "State of an asynchronous auto assignment job")
+public class AutoAssignmentJobStatus {
+
+    public enum State {
+        QUEUED, RUNNING, SUCCEEDED, FAILED
+    }
+
+    @Schema(description = "Job id returned on submit", example = "3f1c2a9e-6b1d-4f1e-9a51-0c7f2d1e8b44")
+    private String jobId;
+
+    @Schema(description = "Job state: QUEUED, RUNNING, SUCCEEDED or FAILED", example = "RUNNING")
+    private State state;
+
+    @Schema(description = "Current phase: QUEUED, LOADING, ENROLLMENT_ASSIGNMENT, REMAINING_ASSIGNMENT, SAVING or DONE", example = "ENROLLMENT_ASSIGNMENT")
+    private String phase;
+
+    @Schema(description = "Assignments made so far", example = "12")
+    private int assignmentsMade;
+
+    @Schema(description = "Time the job was submitted")
+    private LocalDateTime submittedAt;
+
+    @Schema(description = "Time the job started running")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "Time the job finished")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "Result of the run, once the job has finished")
+    private AutoAssignmentResponse result;
+
+    public AutoAssignmentJobStatus() {
+    }
+
+    // Getters and setters
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public void setPhase(String phase) {
+        this.phase = phase;
+    }
+
+    public int getAssignmentsMade() {
+        return assignmentsMade;
+    }
+
+    public void setAssignmentsMade(int assignmentsMade) {
+        this.assignmentsMade = assignmentsMade;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public AutoAssignmentResponse getResult() {
+        return result;
+    }
+
+    public void setResult(AutoAssignmentResponse result) {
+        this.result = result;
+    }
+
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+}
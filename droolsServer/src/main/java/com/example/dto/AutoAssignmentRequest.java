@@ -2,11 +2,28 @@ package com.example.dto;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.time.LocalDate;
+
 @Schema(description = "Request body for auto assignment")
 public class AutoAssignmentRequest {
     @Schema(description = "Sort option number (1=Priority Ascending, 2=Priority Descending, 3=AssignedShifts Ascending, 4=AssignedShifts Descending, 0=No Sort)", example = "1")
     private int sortOption;
 
+    @Schema(description = "Assignment engine: drools (default), fast for the plain Java rule flow, or compare to run both and report differences while keeping the Drools result", example = "drools")
+    private String engine;
+
+    @Schema(description = "First day to assign, inclusive; leave both dates empty for next Monday to Sunday", example = "2025-01-06")
+    private LocalDate startDate;
+
+    @Schema(description = "Last day to assign, inclusive; the range may span several weeks", example = "2025-03-30")
+    private LocalDate endDate;
+
+    @Schema(description = "Log the rule flow of this run at info level, without changing the log level", example = "false")
+    private boolean debug;
+
+    @Schema(description = "Return the assignments as parallel arrays in assignmentColumns instead of a list of objects, for large ranges", example = "false")
+    private boolean columnar;
+
     public AutoAssignmentRequest() {
     }
 
@@ -14,6 +31,11 @@ public class AutoAssignmentRequest {
         this.sortOption = sortOption;
     }
 
+    public AutoAssignmentRequest(int sortOption, String engine) {
+        this.sortOption = sortOption;
+        this.engine = engine;
+    }
+
     public int getSortOption() {
         return sortOption;
     }
@@ -22,10 +44,55 @@ public class AutoAssignmentRequest {
         this.sortOption = sortOption;
     }
 
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public boolean isDebug() {
+        return debug;
+    }
+
+    public void setDebug(boolean debug) {
+        this.debug = debug;
+    }
+
+    public boolean isColumnar() {
+        return columnar;
+    }
+
+    public void setColumnar(boolean columnar) {
+        this.columnar = columnar;
+    }
+
     @Override
     public String toString() {
         return "AutoAssignmentRequest{" +
                 "sortOption=" + sortOption +
+                ", engine='" + engine + '\'' +
+                ", startDate=" + startDate +
+                ", endDate=" + endDate +
+                ", debug=" + debug +
+                ", columnar=" + columnar +
                 '}';
     }
 }
@@ -1,6 +1,6 @@
 package com.example.dto;
 
-import com.example.model.ShiftAssignment;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import java.util.List;
 import java.util.ArrayList;
@@ -8,8 +8,13 @@ import java.util.ArrayList;
 @Schema(description = "Response body for auto assignment")
 public class AutoAssignmentResponse {
 
-    @Schema(description = "List of shift assignments created")
-    private List<ShiftAssignment> assignments;
+    @Schema(description = "List of shift assignments created; absent when the request asked for columnar output")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AssignmentResult> assignments;
+
+    @Schema(description = "Shift assignments created, as parallel arrays; only when the request set columnar")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AssignmentColumns assignmentColumns;
 
     @Schema(description = "Total number of assignments made", example = "5")
     private int totalAssignments;
@@ -23,6 +28,9 @@ public class AutoAssignmentResponse {
     @Schema(description = "Sort option used", example = "1")
     private int sortOptionUsed;
 
+    @Schema(description = "Engine that produced the assignments", example = "drools")
+    private String engineUsed;
+
     public AutoAssignmentResponse() {
         this.assignments = new ArrayList<>();
         this.success = false;
@@ -35,15 +43,26 @@ public class AutoAssignmentResponse {
     }
 
     // Getters and setters
-    public List<ShiftAssignment> getAssignments() {
+    public List<AssignmentResult> getAssignments() {
         return assignments;
     }
 
-    public void setAssignments(List<ShiftAssignment> assignments) {
+    public void setAssignments(List<AssignmentResult> assignments) {
         this.assignments = assignments;
         this.totalAssignments = assignments != null ? assignments.size() : 0;
     }
 
+    public AssignmentColumns getAssignmentColumns() {
+        return assignmentColumns;
+    }
+
+    // Replaces the assignment list
+    public void setAssignmentColumns(AssignmentColumns assignmentColumns) {
+        this.assignmentColumns = assignmentColumns;
+        this.assignments = null;
+        this.totalAssignments = assignmentColumns != null ? assignmentColumns.getEmployeeIds().length : 0;
+    }
+
     public int getTotalAssignments() {
         return totalAssignments;
     }
@@ -75,4 +94,12 @@ public class AutoAssignmentResponse {
     public void setSortOptionUsed(int sortOptionUsed) {
         this.sortOptionUsed = sortOptionUsed;
     }
+
+    public String getEngineUsed() {
+        return engineUsed;
+    }
+
+    public void setEngineUsed(String engineUsed) {
+        this.engineUsed = engineUsed;
+    }
 }
@@ -0,0 +1,121 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Current state of the Drools KieSession pool")
+public class KieSessionPoolStats {
+
+    @Schema(description = "Maximum number of sessions in the pool", example = "4")
+    private int maxSize;
+
+    @Schema(description = "Maximum time to wait for a free session in milliseconds", example = "30000")
+    private long borrowTimeoutMillis;
+
+    @Schema(description = "Sessions currently borrowed by running assignments", example = "1")
+    private int inUse;
+
+    @Schema(description = "Sessions created and waiting to be reused", example = "2")
+    private int idle;
+
+    @Schema(description = "Requests currently waiting for a free session", example = "0")
+    private int waiting;
+
+    @Schema(description = "Total sessions created since the rule base was loaded", example = "3")
+    private long created;
+
+    @Schema(description = "Total successful borrows", example = "42")
+    private long borrowed;
+
+    @Schema(description = "Total borrows that timed out", example = "0")
+    private long timeouts;
+
+    @Schema(description = "Total sessions discarded because they could not be reset", example = "0")
+    private long discarded;
+
+    @Schema(description = "Average time spent waiting for a session in milliseconds", example = "0.05")
+    private double averageWaitMillis;
+
+    public KieSessionPoolStats() {
+    }
+
+    // Getters and setters
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getBorrowTimeoutMillis() {
+        return borrowTimeoutMillis;
+    }
+
+    public void setBorrowTimeoutMillis(long borrowTimeoutMillis) {
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    public int getInUse() {
+        return inUse;
+    }
+
+    public void setInUse(int inUse) {
+        this.inUse = inUse;
+    }
+
+    public int getIdle() {
+        return idle;
+    }
+
+    public void setIdle(int idle) {
+        this.idle = idle;
+    }
+
+    public int getWaiting() {
+        return waiting;
+    }
+
+    public void setWaiting(int waiting) {
+        this.waiting = waiting;
+    }
+
+    public long getCreated() {
+        return created;
+    }
+
+    public void setCreated(long created) {
+        this.created = created;
+    }
+
+    public long getBorrowed() {
+        return borrowed;
+    }
+
+    public void setBorrowed(long borrowed) {
+        this.borrowed = borrowed;
+    }
+
+    public long getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(long timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public long getDiscarded() {
+        return discarded;
+    }
+
+    public void setDiscarded(long discarded) {
+        this.discarded = discarded;
+    }
+
+    public double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public void setAverageWaitMillis(double averageWaitMillis) {
+        this.averageWaitMillis = averageWaitMillis;
+    }
+}
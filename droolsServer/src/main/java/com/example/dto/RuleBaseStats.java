@@ -0,0 +1,134 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+@Schema(description = "Active Drools rule base version and decision table reload metrics")
+public class RuleBaseStats {
+
+    @Schema(description = "Version number of the active rule base, starting at 1 on startup", example = "3")
+    private long version;
+
+    @Schema(description = "How the active rule base was obtained", example = "compiled")
+    private String source;
+
+    @Schema(description = "When the active rule base was published")
+    private LocalDateTime loadedAt;
+
+    @Schema(description = "Time to build and publish the active rule base in milliseconds", example = "4650")
+    private long loadMillis;
+
+    @Schema(description = "Older versions still finishing in-flight runs", example = "0")
+    private int retiringVersions;
+
+    @Schema(description = "Successful hot reloads since startup", example = "2")
+    private long reloads;
+
+    @Schema(description = "Hot reloads rejected because the new decision table did not build", example = "0")
+    private long failedReloads;
+
+    @Schema(description = "Duration of the last successful hot reload in milliseconds", example = "4210")
+    private long lastReloadMillis;
+
+    @Schema(description = "Average duration of successful hot reloads in milliseconds", example = "4380.5")
+    private double averageReloadMillis;
+
+    @Schema(description = "Longest successful hot reload in milliseconds", example = "4550")
+    private long maxReloadMillis;
+
+    @Schema(description = "Error of the last failed hot reload, if any")
+    private String lastReloadError;
+
+    public RuleBaseStats() {
+    }
+
+    // Getters and setters
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public void setLoadedAt(LocalDateTime loadedAt) {
+        this.loadedAt = loadedAt;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public void setLoadMillis(long loadMillis) {
+        this.loadMillis = loadMillis;
+    }
+
+    public int getRetiringVersions() {
+        return retiringVersions;
+    }
+
+    public void setRetiringVersions(int retiringVersions) {
+        this.retiringVersions = retiringVersions;
+    }
+
+    public long getReloads() {
+        return reloads;
+    }
+
+    public void setReloads(long reloads) {
+        this.reloads = reloads;
+    }
+
+    public long getFailedReloads() {
+        return failedReloads;
+    }
+
+    public void setFailedReloads(long failedReloads) {
+        this.failedReloads = failedReloads;
+    }
+
+    public long getLastReloadMillis() {
+        return lastReloadMillis;
+    }
+
+    public void setLastReloadMillis(long lastReloadMillis) {
+        this.lastReloadMillis = lastReloadMillis;
+    }
+
+    public double getAverageReloadMillis() {
+        return averageReloadMillis;
+    }
+
+    public void setAverageReloadMillis(double averageReloadMillis) {
+        this.averageReloadMillis = averageReloadMillis;
+    }
+
+    public long getMaxReloadMillis() {
+        return maxReloadMillis;
+    }
+
+    public void setMaxReloadMillis(long maxReloadMillis) {
+        this.maxReloadMillis = maxReloadMillis;
+    }
+
+    public String getLastReloadError() {
+        return lastReloadError;
+    }
+
+    public void setLastReloadError(String lastReloadError) {
+        this.lastReloadError = lastReloadError;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Schema(description = "Per-rule profile of the Drools sessions")
+public class RuleProfile {
+
+    @Schema(description = "Whether the profiler is attached to the sessions (drools.rule-profiler.enabled)", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Time the statistics were started or last reset")
+    private LocalDateTime since;
+
+    @Schema(description = "Rules that matched at least once, by total consequence time, highest first")
+    private List<RuleProfileEntry> rules;
+
+    public RuleProfile() {
+        this.rules = new ArrayList<>();
+    }
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    public void setSince(LocalDateTime since) {
+        this.since = since;
+    }
+
+    public List<RuleProfileEntry> getRules() {
+        return rules;
+    }
+
+    public void setRules(List<RuleProfileEntry> rules) {
+        this.rules = rules;
+    }
+}
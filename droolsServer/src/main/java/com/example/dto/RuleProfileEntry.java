@@ -0,0 +1,77 @@
+package com.example.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Statistics of one decision table rule")
+public class RuleProfileEntry {
+
+    @Schema(description = "Rule name", example = "FirstRuleEnrollmentEmployee")
+    private String ruleName;
+
+    @Schema(description = "Matches created, i.e. activations put on the agenda", example = "1200")
+    private long matches;
+
+    @Schema(description = "Matches cancelled before firing, including those dropped when a pooled session is wiped", example = "300")
+    private long cancelledMatches;
+
+    @Schema(description = "Times the rule fired", example = "900")
+    private long fires;
+
+    @Schema(description = "Total time spent in the rule's consequence in milliseconds", example = "12.5")
+    private double totalMillis;
+
+    @Schema(description = "Average time of one fire in microseconds", example = "13.9")
+    private double averageMicros;
+
+    public RuleProfileEntry() {
+    }
+
+    // Getters and setters
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public void setRuleName(String ruleName) {
+        this.ruleName = ruleName;
+    }
+
+    public long getMatches() {
+        return matches;
+    }
+
+    public void setMatches(long matches) {
+        this.matches = matches;
+    }
+
+    public long getCancelledMatches() {
+        return cancelledMatches;
+    }
+
+    public void setCancelledMatches(long cancelledMatches) {
+        this.cancelledMatches = cancelledMatches;
+    }
+
+    public long getFires() {
+        return fires;
+    }
+
+    public void setFires(long fires) {
+        this.fires = fires;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public double getAverageMicros() {
+        return averageMicros;
+    }
+
+    public void setAverageMicros(double averageMicros) {
+        this.averageMicros = averageMicros;
+    }
+}
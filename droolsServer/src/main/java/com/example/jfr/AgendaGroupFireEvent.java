@@ -0,0 +1,21 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.AgendaGroupFire")
+@Label("Agenda Group Fire")
+@Description("Focus on one agenda group and fireAllRules")
+@Category({ "Auto Assignment", "Rules" })
+@StackTrace(false)
+public class AgendaGroupFireEvent extends Event {
+    @Label("Agenda Group")
+    public String agendaGroup;
+
+    @Label("Rules Fired")
+    public int rulesFired;
+}
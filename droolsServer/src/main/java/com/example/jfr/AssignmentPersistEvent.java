@@ -0,0 +1,22 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.AssignmentPersist")
+@Label("Assignment Persist")
+@Description("upsertAll of the assignments of a run")
+@Category({ "Auto Assignment", "Database" })
+@StackTrace(false)
+public class AssignmentPersistEvent extends Event {
+    @Label("Method")
+    @Description("batch or copy")
+    public String method;
+
+    @Label("Rows")
+    public int rows;
+}
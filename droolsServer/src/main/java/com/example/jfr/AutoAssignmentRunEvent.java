@@ -0,0 +1,39 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.AutoAssignmentRun")
+@Label("Auto-Assignment Run")
+@Description("One performAutoAssignment call, from validation to the response")
+@Category({ "Auto Assignment" })
+@StackTrace(false)
+public class AutoAssignmentRunEvent extends Event {
+    @Label("Engine")
+    public String engine;
+
+    @Label("Weeks")
+    public int weeks;
+
+    @Label("Employees")
+    public int employees;
+
+    @Label("Shifts")
+    public int shifts;
+
+    @Label("Enrollments")
+    public int enrollments;
+
+    @Label("Assignments")
+    public int assignments;
+
+    @Label("Success")
+    public boolean success;
+
+    @Label("Message")
+    public String message;
+}
@@ -0,0 +1,33 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.EligibilityRefresh")
+@Label("Eligibility Refresh")
+@Description("Refresh of the assignable shifts or eligible employees after a fire")
+@Category({ "Auto Assignment", "Rules" })
+@StackTrace(false)
+public class EligibilityRefreshEvent extends Event {
+    @Label("Target")
+    @Description("shifts or employees")
+    public String target;
+
+    @Label("Enrollment Phase")
+    public boolean enrollmentPhase;
+
+    @Label("Checked")
+    @Description("Shifts scanned, or employees updated since the previous refresh")
+    public int checked;
+
+    @Label("Removed")
+    public int removed;
+
+    @Label("Remaining")
+    @Description("Assignable shifts or eligible employees after the refresh")
+    public int remaining;
+}
@@ -0,0 +1,25 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.RuleBaseReload")
+@Label("Rule Base Reload")
+@Description("Hot reload of the decision table, from reading the file to swapping the rule base")
+@Category({ "Auto Assignment", "Rules" })
+@StackTrace(false)
+public class RuleBaseReloadEvent extends Event {
+    @Label("Version")
+    @Description("Version made active, 0 when the reload failed")
+    public long version;
+
+    @Label("Source")
+    public String source;
+
+    @Label("Error")
+    public String error;
+}
@@ -0,0 +1,27 @@
+package com.example.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.example.ShiftAssigned")
+@Label("Shift Assigned")
+@Description("assignEmployeeToShift: session updates of the shift and employee and the new assignment fact")
+@Category({ "Auto Assignment", "Rules" })
+@StackTrace(false)
+public class ShiftAssignedEvent extends Event {
+    @Label("Employee Id")
+    public int employeeId;
+
+    @Label("Shift Id")
+    public int shiftId;
+
+    @Label("Shift Date")
+    public String shiftDate;
+
+    @Label("Status")
+    public String status;
+}
@@ -2,20 +2,18 @@ package com.example.model;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
 
+// Owned by a single assignment run, so it is not synchronized
 public class AssignableShifts {
     private List<Shift_Date> shifts;
 
     public AssignableShifts() {
-        this.shifts = Collections.synchronizedList(new ArrayList<Shift_Date>());
+        this.shifts = new ArrayList<Shift_Date>();
     }
 
     public AssignableShifts(List<Shift_Date> shift_dates) {
-        this.shifts = Collections.synchronizedList(new ArrayList<Shift_Date>());
-        synchronized (this.shifts) {
-            this.shifts.addAll(shift_dates);
-        }
+        this.shifts = new ArrayList<Shift_Date>();
+        this.shifts.addAll(shift_dates);
     }
 
     public List<Shift_Date> getShifts() {
@@ -23,21 +21,19 @@ public class AssignableShifts {
     }
 
     public void setShifts(List<Shift_Date> shifts) {
-        synchronized (this.shifts) {
-            this.shifts.clear();
-            this.shifts.addAll(shifts);
-        }
+        this.shifts.clear();
+        this.shifts.addAll(shifts);
     }
 
-    public synchronized void addShift(Shift_Date shift) {
+    public void addShift(Shift_Date shift) {
         this.shifts.add(shift);
     }
 
-    public synchronized void removeShift(Shift_Date shift) {
+    public void removeShift(Shift_Date shift) {
         this.shifts.remove(shift);
     }
 
-    public synchronized void clearShifts() {
+    public void clearShifts() {
         this.shifts.clear();
     }
 
@@ -1,23 +1,29 @@
 package com.example.model;
 
 import java.util.List;
+import com.example.util.AssignmentLog;
 import com.example.util.Sort;
 import com.example.util.Sort.SortType;
 import java.util.ArrayList;
-import java.util.Collections;
+import org.slf4j.LoggerFactory;
 
+// Owned by a single assignment run, so it is not synchronized
 public class EligibleEmployees {
     private List<Employee> employees;
+    private final AssignmentLog log;
 
     public EligibleEmployees() {
-        this.employees = Collections.synchronizedList(new ArrayList<Employee>());
+        this(new AssignmentLog(LoggerFactory.getLogger(EligibleEmployees.class), false));
+    }
+
+    public EligibleEmployees(AssignmentLog log) {
+        this.employees = new ArrayList<Employee>();
+        this.log = log;
     }
 
     public EligibleEmployees(List<Employee> employees) {
-        this.employees = Collections.synchronizedList(new ArrayList<Employee>());
-        synchronized (this.employees) {
-            this.employees.addAll(employees);
-        }
+        this();
+        this.employees.addAll(employees);
     }
 
     public List<Employee> getEmployees() {
@@ -25,21 +31,19 @@ public class EligibleEmployees {
     }
 
     public void setEmployees(List<Employee> employees) {
-        synchronized (this.employees) {
-            this.employees.clear();
-            this.employees.addAll(employees);
-        }
+        this.employees.clear();
+        this.employees.addAll(employees);
     }
 
-    public synchronized void addEmployee(Employee employee) {
+    public void addEmployee(Employee employee) {
         this.employees.add(employee);
     }
 
-    public synchronized void removeEmployee(Employee employee) {
+    public void removeEmployee(Employee employee) {
         this.employees.remove(employee);
     }
 
-    public synchronized void clearEmployees() {
+    public void clearEmployees() {
         this.employees.clear();
     }
 
@@ -49,7 +53,7 @@ public class EligibleEmployees {
 
     public void sortEmployees(Sort sort) {
         if (sort.getSortEnabled()) {
-            System.out.println("Sorting employees by " + sort.getSortBy() + " in " + sort.getSortType() + " order.");
+            log.debug("Sorting employees by {} in {} order.", sort.getSortBy(), sort.getSortType());
             employees.sort((e1, e2) -> {
                 int comparison = 0;
                 switch (sort.getSortBy()) {
@@ -2,9 +2,10 @@ package com.example.model;
 
 import java.time.LocalDateTime;
 import java.time.LocalDate;
-import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import javax.persistence.*;
+import com.example.util.DayShiftCounters;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 @Entity
@@ -34,7 +35,7 @@ public class Employee {
     @Transient
     private int assignedShiftInWeek;
     @Transient
-    private HashMap<LocalDate, Integer> assignedShiftInDay;
+    private DayShiftCounters assignedShiftInDay;
     @Transient
     private int priorityScore;
     @Transient
@@ -43,13 +44,8 @@ public class Employee {
     private boolean deletable;
 
     public Employee() {
-        int currentDayOfWeek = LocalDate.now().getDayOfWeek().getValue();
-        LocalDate nextWeekStart = LocalDate.now().plusDays(7 - currentDayOfWeek + 1);
-        this.assignedShiftInDay = new HashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate shift_date = nextWeekStart.plusDays(i);
-            assignedShiftInDay.put(shift_date, 0);
-        }
+        // Anchored by the loader through resetAssignedShiftInDay
+        this.assignedShiftInDay = new DayShiftCounters();
 
         this.employeeId = 0;
         this.assignedShiftInWeek = 0;
@@ -59,13 +55,7 @@ public class Employee {
     }
 
     public Employee(int employeeid) {
-        int currentDayOfWeek = LocalDate.now().getDayOfWeek().getValue();
-        LocalDate nextWeekStart = LocalDate.now().plusDays(7 - currentDayOfWeek + 1);
-        this.assignedShiftInDay = new HashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate shift_date = nextWeekStart.plusDays(i);
-            assignedShiftInDay.put(shift_date, 0);
-        }
+        this.assignedShiftInDay = new DayShiftCounters();
 
         this.employeeId = employeeid;
         this.assignedShiftInWeek = 0;
@@ -75,13 +65,7 @@ public class Employee {
     }
 
     public Employee(int employeeid, int lateCount, int absenceCount) {
-        int currentDayOfWeek = LocalDate.now().getDayOfWeek().getValue();
-        LocalDate nextWeekStart = LocalDate.now().plusDays(7 - currentDayOfWeek + 1);
-        this.assignedShiftInDay = new HashMap<>();
-        for (int i = 0; i < 7; i++) {
-            LocalDate shift_date = nextWeekStart.plusDays(i);
-            assignedShiftInDay.put(shift_date, 0);
-        }
+        this.assignedShiftInDay = new DayShiftCounters();
         this.employeeId = employeeid;
         this.assignedShiftInWeek = 0;
         this.priorityScore = 100 - (lateCount + absenceCount * 3);
@@ -90,10 +74,7 @@ public class Employee {
     }
 
     public Employee(Employee employee) {
-        this.assignedShiftInDay = new HashMap<LocalDate, Integer>();
-        for (LocalDate shiftDate : employee.assignedShiftInDay.keySet()) {
-            this.assignedShiftInDay.put(shiftDate, employee.assignedShiftInDay.get(shiftDate));
-        }
+        this.assignedShiftInDay = new DayShiftCounters(employee.assignedShiftInDay);
         this.employeeId = employee.employeeId;
         this.assignedShiftInWeek = employee.assignedShiftInWeek;
         this.priorityScore = employee.priorityScore;
@@ -118,19 +99,29 @@ public class Employee {
     }
 
     public int getAssignedShiftInDay(LocalDateTime shift_date) {
-        // Convert LocalDateTime to LocalDate for lookup
-        LocalDate dateOnly = shift_date.toLocalDate();
-        return this.assignedShiftInDay.getOrDefault(dateOnly, 0);
+        return this.assignedShiftInDay.get(shift_date);
     }
 
     public void setAssignedShiftInDay(LocalDateTime shift_date, int assignedShiftInDay) {
-        // Convert LocalDateTime to LocalDate for storage
-        LocalDate dateOnly = shift_date.toLocalDate();
-        this.assignedShiftInDay.put(dateOnly, assignedShiftInDay);
+        this.assignedShiftInDay.set(shift_date, assignedShiftInDay);
     }
 
-    public HashMap<LocalDate, Integer> getAssignedShiftInDay() {
-        return assignedShiftInDay;
+    public void incrementAssignedShiftInDay(LocalDateTime shift_date) {
+        this.assignedShiftInDay.increment(shift_date);
+    }
+
+    // Sets every day from firstDay on to 0 and anchors the counters there
+    public void resetAssignedShiftInDay(LocalDate firstDay, int days) {
+        this.assignedShiftInDay.reset(firstDay, days);
+    }
+
+    // Independent copy of the per-day counters
+    public DayShiftCounters copyAssignedShiftInDay() {
+        return new DayShiftCounters(this.assignedShiftInDay);
+    }
+
+    public Map<LocalDate, Integer> getAssignedShiftInDay() {
+        return assignedShiftInDay.toMap();
     }
 
     public List<ShiftAssignment> getShiftAssignments() {
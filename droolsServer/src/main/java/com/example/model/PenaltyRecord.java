@@ -1,11 +1,14 @@
 package com.example.model;
 
+import com.example.service.PenaltyRecordCacheListener;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "penalty_records")
+@EntityListeners(PenaltyRecordCacheListener.class)
 public class PenaltyRecord {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
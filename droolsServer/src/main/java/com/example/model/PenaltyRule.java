@@ -1,11 +1,16 @@
 package com.example.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.util.List;
 
 @Entity
 @Table(name = "penalty_rules")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "penalty-rule")
 public class PenaltyRule {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -2,20 +2,18 @@ package com.example.model;
 
 import java.util.List;
 import java.util.ArrayList;
-import java.util.Collections;
 
+// Owned by a single assignment run, so it is not synchronized
 public class ShiftAssignments {
     private List<ShiftAssignment> assignments;
 
     public ShiftAssignments() {
-        this.assignments = Collections.synchronizedList(new ArrayList<ShiftAssignment>());
+        this.assignments = new ArrayList<ShiftAssignment>();
     }
 
     public ShiftAssignments(List<ShiftAssignment> assignments) {
-        this.assignments = Collections.synchronizedList(new ArrayList<ShiftAssignment>());
-        synchronized (this.assignments) {
-            this.assignments.addAll(assignments);
-        }
+        this.assignments = new ArrayList<ShiftAssignment>();
+        this.assignments.addAll(assignments);
     }
 
     public List<ShiftAssignment> getAssignments() {
@@ -23,21 +21,19 @@ public class ShiftAssignments {
     }
 
     public void setAssignments(List<ShiftAssignment> assignments) {
-        synchronized (this.assignments) {
-            this.assignments.clear();
-            this.assignments.addAll(assignments);
-        }
+        this.assignments.clear();
+        this.assignments.addAll(assignments);
     }
 
-    public synchronized void addAssignment(ShiftAssignment assignment) {
+    public void addAssignment(ShiftAssignment assignment) {
         this.assignments.add(assignment);
     }
 
-    public synchronized void removeAssignment(ShiftAssignment assignment) {
+    public void removeAssignment(ShiftAssignment assignment) {
         this.assignments.remove(assignment);
     }
 
-    public synchronized void clearAssignments() {
+    public void clearAssignments() {
         this.assignments.clear();
     }
 
@@ -44,6 +44,7 @@ public class ShiftDateId implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(shiftId, shiftDate);
+        // No boxing, these are hot lookup keys
+        return 31 * shiftId + (shiftDate != null ? shiftDate.hashCode() : 0);
     }
 }
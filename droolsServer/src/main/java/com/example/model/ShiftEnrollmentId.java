@@ -53,6 +53,7 @@ public class ShiftEnrollmentId implements Serializable {
 
     @Override
     public int hashCode() {
-        return Objects.hash(employeeId, shiftId, shiftDate);
+        // No boxing, these are hot lookup keys
+        return 31 * (31 * employeeId + shiftId) + (shiftDate != null ? shiftDate.hashCode() : 0);
     }
 }
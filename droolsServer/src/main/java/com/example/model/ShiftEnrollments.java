@@ -1,108 +1,170 @@
 package com.example.model;
 
 import java.util.List;
+import java.util.Map;
 
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.FactHandle;
 
 import java.util.ArrayList;
-import java.util.Collections;
-
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+
+/**
+ * Open enrollments of an assignment run, indexed by employee and by shift so
+ * lookups and removals only touch the enrollments involved. Fact handles
+ * given on add are kept to delete the enrollment from the session directly.
+ * Owned by a single assignment run, so it is not synchronized.
+ */
 public class ShiftEnrollments {
-    private List<ShiftEnrollment> enrollments;
+    private final Map<ShiftEnrollmentId, Entry> enrollments;
+    // Append-only, ids removed since are skipped. The employee index is only
+    // built once an employee is removed, which most runs never do.
+    private Map<Integer, List<ShiftEnrollmentId>> byEmployee;
+    private final Map<ShiftDateId, List<ShiftEnrollmentId>> byShift = new HashMap<>();
 
     public ShiftEnrollments() {
-        this.enrollments = Collections.synchronizedList(new ArrayList<ShiftEnrollment>());
+        this.enrollments = new LinkedHashMap<>();
+    }
+
+    // Sized for the given number of enrollments, avoiding rehashes while filling
+    public ShiftEnrollments(int expectedSize) {
+        this.enrollments = new LinkedHashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
     }
 
     public ShiftEnrollments(List<ShiftEnrollment> enrollments) {
-        this.enrollments = Collections.synchronizedList(new ArrayList<ShiftEnrollment>());
-        synchronized (this.enrollments) {
-            this.enrollments.addAll(enrollments);
-        }
+        this(enrollments.size());
+        setEnrollments(enrollments);
     }
 
+    // Snapshot in insertion order
     public List<ShiftEnrollment> getEnrollments() {
-        return enrollments;
+        List<ShiftEnrollment> result = new ArrayList<>(enrollments.size());
+        for (Entry entry : enrollments.values()) {
+            result.add(entry.enrollment);
+        }
+        return result;
     }
 
     public void setEnrollments(List<ShiftEnrollment> enrollments) {
-        synchronized (this.enrollments) {
-            this.enrollments.clear();
-            this.enrollments.addAll(enrollments);
+        clearEnrollments();
+        for (ShiftEnrollment enrollment : enrollments) {
+            addEnrollment(enrollment);
         }
     }
 
-    public synchronized void addEnrollment(ShiftEnrollment enrollment) {
-        this.enrollments.add(enrollment);
+    public void addEnrollment(ShiftEnrollment enrollment) {
+        addEnrollment(enrollment, null);
     }
 
-    public synchronized void removeEnrollment(ShiftEnrollment enrollment) {
-        this.enrollments.remove(enrollment);
+    public void addEnrollment(ShiftEnrollment enrollment, FactHandle factHandle) {
+        ShiftEnrollmentId id = new ShiftEnrollmentId(enrollment.getEmployeeId(), enrollment.getShiftId(),
+                enrollment.getShiftDate());
+        enrollments.put(id, new Entry(enrollment, factHandle));
+        if (byEmployee != null) {
+            addToIndex(byEmployee, id.getEmployeeId(), id);
+        }
+        addToIndex(byShift, new ShiftDateId(id.getShiftId(), id.getShiftDate()), id);
     }
 
-    public synchronized void removeEnrollment(Employee employee, Shift_Date shiftDate) {
-        ShiftEnrollment toRemove = null;
-        synchronized (enrollments) {
-            for (ShiftEnrollment enrollment : enrollments) {
-                if (enrollment.getEmployee().equals(employee) && enrollment.getShift().equals(shiftDate)) {
-                    toRemove = enrollment;
-                    break;
-                }
-            }
-            if (toRemove != null) {
-                this.enrollments.remove(toRemove);
-            }
-        }
+    public ShiftEnrollment getEnrollment(Employee employee, Shift_Date shiftDate) {
+        Entry entry = enrollments.get(new ShiftEnrollmentId(employee.getEmployeeId(), shiftDate.getShiftId(),
+                shiftDate.getShiftDate()));
+        return entry != null ? entry.enrollment : null;
+    }
+
+    public void removeEnrollment(ShiftEnrollment enrollment) {
+        enrollments.remove(idOf(enrollment));
+    }
+
+    public void removeEnrollment(Employee employee, Shift_Date shiftDate) {
+        enrollments.remove(new ShiftEnrollmentId(employee.getEmployeeId(), shiftDate.getShiftId(),
+                shiftDate.getShiftDate()));
+    }
+
+    /**
+     * Removes the enrollment and deletes it from the session, using the fact
+     * handle it was added with when there is one.
+     */
+    public void removeEnrollment(ShiftEnrollment enrollment, KieSession kieSession) {
+        remove(idOf(enrollment), kieSession);
     }
 
-    public synchronized void removeEnrollments(Employee employee, KieSession kieSession) {
-        List<ShiftEnrollment> toRemove = new ArrayList<ShiftEnrollment>();
-        synchronized (enrollments) {
-            for (ShiftEnrollment enrollment : enrollments) {
-                if (enrollment.getEmployee().equals(employee)) {
-                    toRemove.add(enrollment);
-                    FactHandle factHandleShiftEnrollment = kieSession.getFactHandle(enrollment);
-                    if (factHandleShiftEnrollment != null) {
-                        kieSession.delete(factHandleShiftEnrollment);
-                    }
-                }
+    public void removeEnrollments(Employee employee, KieSession kieSession) {
+        if (byEmployee == null) {
+            byEmployee = new HashMap<>();
+            for (ShiftEnrollmentId id : enrollments.keySet()) {
+                addToIndex(byEmployee, id.getEmployeeId(), id);
+            }
+        }
+        List<ShiftEnrollmentId> ids = byEmployee.remove(employee.getEmployeeId());
+        if (ids != null) {
+            for (ShiftEnrollmentId id : ids) {
+                remove(id, kieSession);
             }
-            this.enrollments.removeAll(toRemove);
         }
     }
 
-    public synchronized void removeEnrollments(Shift_Date shiftDate, KieSession kieSession) {
-        List<ShiftEnrollment> toRemove = new ArrayList<ShiftEnrollment>();
-        synchronized (enrollments) {
-            for (ShiftEnrollment enrollment : enrollments) {
-                if (enrollment.getShift().equals(shiftDate)) {
-                    toRemove.add(enrollment);
-                    FactHandle factHandleShiftEnrollment = kieSession.getFactHandle(enrollment);
-                    if (factHandleShiftEnrollment != null) {
-                        kieSession.delete(factHandleShiftEnrollment);
-                    }
-                }
+    public void removeEnrollments(Shift_Date shiftDate, KieSession kieSession) {
+        List<ShiftEnrollmentId> ids = byShift.remove(new ShiftDateId(shiftDate.getShiftId(), shiftDate.getShiftDate()));
+        if (ids != null) {
+            for (ShiftEnrollmentId id : ids) {
+                remove(id, kieSession);
             }
-            this.enrollments.removeAll(toRemove);
         }
     }
 
-    public synchronized void clearEnrollments() {
+    public void clearEnrollments() {
         this.enrollments.clear();
+        this.byEmployee = null;
+        this.byShift.clear();
     }
 
     public int getSize() {
-        return enrollments != null ? enrollments.size() : 0;
+        return enrollments.size();
+    }
+
+    private void remove(ShiftEnrollmentId id, KieSession kieSession) {
+        Entry entry = enrollments.remove(id);
+        if (entry == null) {
+            return;
+        }
+        FactHandle factHandle = entry.factHandle != null ? entry.factHandle : kieSession.getFactHandle(entry.enrollment);
+        if (factHandle != null) {
+            kieSession.delete(factHandle);
+        }
+    }
+
+    private static <K> void addToIndex(Map<K, List<ShiftEnrollmentId>> index, K key, ShiftEnrollmentId id) {
+        List<ShiftEnrollmentId> ids = index.get(key);
+        if (ids == null) {
+            ids = new ArrayList<>();
+            index.put(key, ids);
+        }
+        ids.add(id);
+    }
+
+    private static ShiftEnrollmentId idOf(ShiftEnrollment enrollment) {
+        return new ShiftEnrollmentId(enrollment.getEmployeeId(), enrollment.getShiftId(), enrollment.getShiftDate());
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder("ShiftEnrollments{");
-        for (ShiftEnrollment enrollment : enrollments) {
-            sb.append(enrollment.toString()).append(", ");
+        for (Entry entry : enrollments.values()) {
+            sb.append(entry.enrollment.toString()).append(", ");
         }
         sb.append('}');
         return sb.toString();
     }
+
+    private static class Entry {
+        private final ShiftEnrollment enrollment;
+        private final FactHandle factHandle;
+
+        private Entry(ShiftEnrollment enrollment, FactHandle factHandle) {
+            this.enrollment = enrollment;
+            this.factHandle = factHandle;
+        }
+    }
 }
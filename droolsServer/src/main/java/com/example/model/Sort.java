@@ -2,7 +2,12 @@ package com.example.model;
 
 import java.util.List;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class Sort {
+    private static final Logger logger = LoggerFactory.getLogger(Sort.class);
+
     public enum SortBy {
         PRIORITY,
         ASSIGNEDSHIFTINWEEK,
@@ -43,8 +48,8 @@ public class Sort {
 
     public static List<Employee> sortEmployeeStatic(List<Employee> eligibleEmployees, SortBy sortBy,
             SortType sortType) {
-        System.out.println("Sorting employees by " + sortBy + " in " + sortType + " order.");
-        System.out.println("Eligible employees before sorting: " + eligibleEmployees);
+        logger.debug("Sorting employees by {} in {} order.", sortBy, sortType);
+        logger.debug("Eligible employees before sorting: {}", eligibleEmployees);
         eligibleEmployees.sort((e1, e2) -> {
             int comparison = 0;
             switch (sortBy) {
@@ -61,7 +66,7 @@ public class Sort {
     }
 
     public List<Employee> sortEmployee(List<Employee> eligibleEmployees) {
-        System.out.println("Sorting employees by " + sortBy + " in " + sortType + " order.");
+        logger.debug("Sorting employees by {} in {} order.", sortBy, sortType);
         eligibleEmployees.sort((e1, e2) -> {
             int comparison = 0;
             switch (sortBy) {
@@ -75,7 +80,7 @@ public class Sort {
             }
             return sortType == SortType.ASCENDING ? comparison : -comparison;
         });
-        System.out.println("Eligible employees after sorting: " + eligibleEmployees);
+        logger.debug("Eligible employees after sorting: {}", eligibleEmployees);
         return eligibleEmployees;
     }
 }
@@ -19,4 +19,7 @@ public interface EmployeeRepository extends JpaRepository<Employee, Integer> {
 
     @Query("SELECT e FROM Employee e WHERE e.employeeId = :employeeId")
     Employee findEmployeeById(@Param("employeeId") Integer employeeId);
+
+    @Query("SELECT e FROM Employee e WHERE e.employeeId IN :employeeIds")
+    List<Employee> findEmployeesByIds(@Param("employeeIds") List<Integer> employeeIds);
 }
@@ -1,6 +1,7 @@
 package com.example.repository;
 
 import com.example.model.PenaltyRecord;
+import com.example.repository.projection.EmployeePenaltyCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -47,4 +48,22 @@ public interface PenaltyRecordRepository extends JpaRepository<PenaltyRecord, In
             @Param("penaltyType") String penaltyType,
             @Param("year") int year,
             @Param("month") int month);
+
+    /**
+     * Count late and absence penalty records of several employees for current
+     * month, one row per employee that has at least one penalty
+     */
+    @Query("SELECT pr.employeeId AS employeeId, " +
+            "SUM(CASE WHEN LOWER(rule.penaltyName) LIKE '%late%' THEN 1 ELSE 0 END) AS lateCount, " +
+            "SUM(CASE WHEN LOWER(rule.penaltyName) LIKE '%absence%' THEN 1 ELSE 0 END) AS absenceCount " +
+            "FROM PenaltyRecord pr " +
+            "JOIN pr.penaltyRule rule " +
+            "WHERE pr.employeeId IN :employeeIds " +
+            "AND EXTRACT(YEAR FROM pr.violationDate) = :year " +
+            "AND EXTRACT(MONTH FROM pr.violationDate) = :month " +
+            "GROUP BY pr.employeeId")
+    List<EmployeePenaltyCount> countLateAndAbsenceByEmployeeIdsAndCurrentMonth(
+            @Param("employeeIds") List<Integer> employeeIds,
+            @Param("year") int year,
+            @Param("month") int month);
 }
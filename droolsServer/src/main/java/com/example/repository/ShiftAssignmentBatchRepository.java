@@ -0,0 +1,18 @@
+package com.example.repository;
+
+import com.example.model.ShiftAssignment;
+
+import java.util.List;
+
+/**
+ * Bulk insert-or-update of shift assignments, without the per-row SELECT
+ * that saveAll needs to tell new composite-key entities from existing ones.
+ */
+public interface ShiftAssignmentBatchRepository {
+
+    /**
+     * Writes the assignments, replacing the status of rows that already
+     * exist, in the current transaction. Returns the number of rows written.
+     */
+    int upsertAll(List<ShiftAssignment> assignments);
+}
@@ -0,0 +1,118 @@
+package com.example.repository;
+
+import com.example.jfr.AssignmentPersistEvent;
+import com.example.model.ShiftAssignment;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link ShiftAssignmentBatchRepository}. Runs go
+ * through batched INSERT ... ON CONFLICT statements; runs of at least
+ * copy-threshold rows inside a transaction are streamed with COPY into a
+ * temporary table and merged with one statement.
+ */
+public class ShiftAssignmentBatchRepositoryImpl implements ShiftAssignmentBatchRepository {
+    private static final String UPSERT_SQL = "INSERT INTO shift_assignment"
+            + " (employeeid, shiftid, shiftdate, assignmentstatus) VALUES (?, ?, ?, ?)"
+            + " ON CONFLICT (employeeid, shiftid, shiftdate)"
+            + " DO UPDATE SET assignmentstatus = EXCLUDED.assignmentstatus";
+    private static final String STAGE_TABLE = "shift_assignment_stage";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${autoassignment.persistence.batch-size:500}")
+    private int batchSize;
+
+    // 0 turns COPY off
+    @Value("${autoassignment.persistence.copy-threshold:5000}")
+    private int copyThreshold;
+
+    @Override
+    public int upsertAll(List<ShiftAssignment> assignments) {
+        if (assignments.isEmpty()) {
+            return 0;
+        }
+        AssignmentPersistEvent event = new AssignmentPersistEvent();
+        event.begin();
+        event.rows = assignments.size();
+        if (copyThreshold > 0 && assignments.size() >= copyThreshold) {
+            Integer copied = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+                // The staged rows only live until commit, so COPY needs a transaction
+                if (connection.getAutoCommit()) {
+                    return null;
+                }
+                return copyUpsert(connection, assignments);
+            });
+            if (copied != null) {
+                event.method = "copy";
+                event.commit();
+                return copied;
+            }
+        }
+        int written = batchUpsert(assignments);
+        event.method = "batch";
+        event.commit();
+        return written;
+    }
+
+    private int batchUpsert(List<ShiftAssignment> assignments) {
+        jdbcTemplate.batchUpdate(UPSERT_SQL, assignments, batchSize, (ps, assignment) -> {
+            ps.setInt(1, assignment.getEmployeeId());
+            ps.setInt(2, assignment.getShiftId());
+            // Bound like Hibernate binds LocalDateTime, in the JVM time zone
+            ps.setTimestamp(3, Timestamp.valueOf(assignment.getShiftDate()));
+            ps.setString(4, assignment.getAssignmentStatus());
+        });
+        return assignments.size();
+    }
+
+    private int copyUpsert(Connection connection, List<ShiftAssignment> assignments) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE IF NOT EXISTS " + STAGE_TABLE
+                    + " (employeeid integer, shiftid integer, shiftdate timestamptz, assignmentstatus text)"
+                    + " ON COMMIT DELETE ROWS");
+            statement.execute("TRUNCATE " + STAGE_TABLE);
+        }
+
+        StringBuilder csv = new StringBuilder(assignments.size() * 48);
+        for (ShiftAssignment assignment : assignments) {
+            csv.append(assignment.getEmployeeId()).append(',')
+                    .append(assignment.getShiftId()).append(',')
+                    .append(Timestamp.valueOf(assignment.getShiftDate())).append(',');
+            String status = assignment.getAssignmentStatus();
+            // Unquoted empty is NULL in CSV format
+            if (status != null) {
+                csv.append('"').append(status.replace("\"", "\"\"")).append('"');
+            }
+            csv.append('\n');
+        }
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                    "COPY " + STAGE_TABLE + " (employeeid, shiftid, shiftdate, assignmentstatus)"
+                            + " FROM STDIN WITH (FORMAT csv)",
+                    new StringReader(csv.toString()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to stream shift assignments with COPY", e);
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            return statement.executeUpdate("INSERT INTO shift_assignment"
+                    + " (employeeid, shiftid, shiftdate, assignmentstatus)"
+                    + " SELECT employeeid, shiftid, shiftdate, assignmentstatus FROM " + STAGE_TABLE
+                    + " ON CONFLICT (employeeid, shiftid, shiftdate)"
+                    + " DO UPDATE SET assignmentstatus = EXCLUDED.assignmentstatus");
+        }
+    }
+}
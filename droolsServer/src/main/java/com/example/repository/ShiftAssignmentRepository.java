@@ -2,13 +2,15 @@ package com.example.repository;
 
 import com.example.model.ShiftAssignment;
 import com.example.model.ShiftAssignmentId;
+import com.example.repository.projection.EmployeeDayAssignmentCount;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDateTime;
 import java.util.List;
 
-public interface ShiftAssignmentRepository extends JpaRepository<ShiftAssignment, ShiftAssignmentId> {
+public interface ShiftAssignmentRepository
+                extends JpaRepository<ShiftAssignment, ShiftAssignmentId>, ShiftAssignmentBatchRepository {
         @Query("SELECT sa FROM ShiftAssignment sa WHERE sa.shiftDate >= :startDate AND sa.shiftDate <= :endDate")
         List<ShiftAssignment> findByShiftDateBetween(@Param("startDate") LocalDateTime startDate,
                         @Param("endDate") LocalDateTime endDate);
@@ -21,6 +23,8 @@ public interface ShiftAssignmentRepository extends JpaRepository<ShiftAssignment
         int countByEmployeeAndShiftDateBetween(@Param("employeeId") int employeeId,
                         @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 
-        @Query("SELECT COUNT(sa) FROM ShiftAssignment sa WHERE sa.shiftId = :shiftId AND sa.shiftDate = :shiftDate")
-        int countByShiftIdAndShiftDate(@Param("shiftId") int shiftId, @Param("shiftDate") LocalDateTime shiftDate);
+        @Query("SELECT sa.employeeId AS employeeId, sa.shiftDate AS shiftDate, COUNT(sa) AS assignmentCount FROM ShiftAssignment sa WHERE sa.employeeId IN :employeeIds AND sa.shiftDate >= :startDate AND sa.shiftDate <= :endDate GROUP BY sa.employeeId, sa.shiftDate")
+        List<EmployeeDayAssignmentCount> countByEmployeesAndShiftDateBetween(
+                        @Param("employeeIds") List<Integer> employeeIds,
+                        @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
 }
@@ -0,0 +1,14 @@
+package com.example.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Number of shift assignments an employee holds on a given shift date
+ */
+public interface EmployeeDayAssignmentCount {
+    Integer getEmployeeId();
+
+    LocalDateTime getShiftDate();
+
+    Long getAssignmentCount();
+}
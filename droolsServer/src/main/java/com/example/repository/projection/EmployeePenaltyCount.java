@@ -0,0 +1,12 @@
+package com.example.repository.projection;
+
+/**
+ * Late and absence penalty counts of an employee within one month
+ */
+public interface EmployeePenaltyCount {
+    Integer getEmployeeId();
+
+    Long getLateCount();
+
+    Long getAbsenceCount();
+}
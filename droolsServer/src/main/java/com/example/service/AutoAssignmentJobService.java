@@ -0,0 +1,245 @@
+package com.example.service;
+
+import com.example.dto.AutoAssignmentJobStatus;
+import com.example.dto.AutoAssignmentJobStatus.State;
+import com.example.dto.AutoAssignmentRequest;
+import com.example.dto.AutoAssignmentResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs auto-assignments as background jobs on a bounded executor, so a
+ * request only waits for the job id. Progress can be polled or streamed
+ * with Server-Sent Events; finished jobs are kept for a retention period.
+ */
+@Service
+public class AutoAssignmentJobService {
+    // At most one progress event per job in this interval, besides phase changes
+    private static final long PROGRESS_EVENT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Autowired
+    private AutoAssignmentService autoAssignmentService;
+
+    // Each running job holds one pooled KieSession
+    @Value("${autoassignment.jobs.threads:2}")
+    private int threads;
+
+    // Jobs waiting for a thread; submits beyond it are rejected
+    @Value("${autoassignment.jobs.queue-capacity:20}")
+    private int queueCapacity;
+
+    @Value("${autoassignment.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    @Value("${autoassignment.jobs.sse-timeout-ms:600000}")
+    private long sseTimeoutMillis;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "auto-assignment-job-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Queues a run and returns its initial status.
+     *
+     * @throws RejectedExecutionException when the job queue is full
+     */
+    public AutoAssignmentJobStatus submit(AutoAssignmentRequest request) {
+        evictExpiredJobs();
+        Job job = new Job(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, request));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.toStatus();
+    }
+
+    // Null when the job is unknown or has expired
+    public AutoAssignmentJobStatus getStatus(String jobId) {
+        Job job = jobs.get(jobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    /**
+     * Streams "progress" events with the job status until the job finishes,
+     * starting with the current status. Null when the job is unknown.
+     */
+    public SseEmitter subscribe(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        job.emitters.add(emitter);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+
+        AutoAssignmentJobStatus status = job.toStatus();
+        send(job, emitter, status);
+        // The job may have finished before the emitter was registered
+        if (status.isFinished()) {
+            job.emitters.remove(emitter);
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    private void run(Job job, AutoAssignmentRequest request) {
+        job.start();
+        AutoAssignmentResponse response;
+        try {
+            response = autoAssignmentService.performAutoAssignment(request, job);
+        } catch (RuntimeException e) {
+            response = new AutoAssignmentResponse(false,
+                    "Error during auto-assignment: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+        }
+        job.finish(response);
+
+        AutoAssignmentJobStatus status = job.toStatus();
+        for (SseEmitter emitter : job.emitters) {
+            send(job, emitter, status);
+            emitter.complete();
+        }
+        job.emitters.clear();
+    }
+
+    private void publish(Job job, boolean force) {
+        if (job.emitters.isEmpty()) {
+            return;
+        }
+        AutoAssignmentJobStatus status = job.takeEvent(force);
+        if (status == null) {
+            return;
+        }
+        for (SseEmitter emitter : job.emitters) {
+            send(job, emitter, status);
+        }
+    }
+
+    private void send(Job job, SseEmitter emitter, AutoAssignmentJobStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name("progress").id(status.getPhase() + "-" + status.getAssignmentsMade())
+                    .data(status));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away; the job keeps running
+            job.emitters.remove(emitter);
+        }
+    }
+
+    private void evictExpiredJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(retentionMinutes);
+        jobs.values().removeIf(job -> job.isFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * One submitted run. Worker threads write its state and request threads
+     * read snapshots of it, so access goes through its monitor.
+     */
+    private class Job implements AutoAssignmentProgress {
+        final String id;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        private long lastEventNanos;
+        private State state = State.QUEUED;
+        private Phase phase = Phase.QUEUED;
+        private int assignmentsMade;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private AutoAssignmentResponse result;
+
+        Job(String id) {
+            this.id = id;
+        }
+
+        synchronized void start() {
+            state = State.RUNNING;
+            startedAt = LocalDateTime.now();
+        }
+
+        synchronized void finish(AutoAssignmentResponse response) {
+            state = response.isSuccess() ? State.SUCCEEDED : State.FAILED;
+            phase = Phase.DONE;
+            assignmentsMade = response.getTotalAssignments();
+            result = response;
+            finishedAt = LocalDateTime.now();
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime cutoff) {
+            return finishedAt != null && finishedAt.isBefore(cutoff);
+        }
+
+        @Override
+        public void phase(Phase phase) {
+            synchronized (this) {
+                this.phase = phase;
+            }
+            publish(this, true);
+        }
+
+        @Override
+        public void assignmentsMade(int count) {
+            synchronized (this) {
+                this.assignmentsMade = count;
+            }
+            publish(this, false);
+        }
+
+        // Status to publish, or null while the previous event is too recent
+        synchronized AutoAssignmentJobStatus takeEvent(boolean force) {
+            long now = System.nanoTime();
+            if (!force && now - lastEventNanos < PROGRESS_EVENT_INTERVAL_NANOS) {
+                return null;
+            }
+            lastEventNanos = now;
+            return toStatus();
+        }
+
+        synchronized AutoAssignmentJobStatus toStatus() {
+            AutoAssignmentJobStatus status = new AutoAssignmentJobStatus();
+            status.setJobId(id);
+            status.setState(state);
+            status.setPhase(phase.name());
+            status.setAssignmentsMade(assignmentsMade);
+            status.setSubmittedAt(submittedAt);
+            status.setStartedAt(startedAt);
+            status.setFinishedAt(finishedAt);
+            status.setResult(result);
+            return status;
+        }
+    }
+}
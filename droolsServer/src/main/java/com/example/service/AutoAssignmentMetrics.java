@@ -0,0 +1,120 @@
+package com.example.service;
+
+import com.example.dto.AutoAssignmentResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micrometer meters of the auto-assignment pipeline: run and phase timers,
+ * one timer per agenda group for fireAllRules, timers for the shift and
+ * employee eligibility scans, and gauges with the sizes of the latest run.
+ * Phase and run timers publish histograms so latency percentiles can be
+ * alerted on from Prometheus.
+ */
+@Component
+public class AutoAssignmentMetrics {
+    private final MeterRegistry registry;
+    private final Timer loadTimer;
+    private final Timer solveTimer;
+    private final Timer saveTimer;
+    private final Timer shiftScanTimer;
+    private final Timer employeeScanTimer;
+    private final Counter assignmentsCounter;
+    private final Map<String, Timer> fireTimers = new ConcurrentHashMap<>();
+    private final AtomicInteger lastEmployees = new AtomicInteger();
+    private final AtomicInteger lastShifts = new AtomicInteger();
+    private final AtomicInteger lastEnrollments = new AtomicInteger();
+
+    public AutoAssignmentMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        loadTimer = phaseTimer("load");
+        solveTimer = phaseTimer("solve");
+        saveTimer = phaseTimer("save");
+        shiftScanTimer = scanTimer("shifts");
+        employeeScanTimer = scanTimer("employees");
+        assignmentsCounter = Counter.builder("autoassignment.assignments")
+                .description("Shift assignments created by successful runs")
+                .register(registry);
+        Gauge.builder("autoassignment.run.employees", lastEmployees, AtomicInteger::get)
+                .description("Part-time employees loaded by the latest run")
+                .register(registry);
+        Gauge.builder("autoassignment.run.shifts", lastShifts, AtomicInteger::get)
+                .description("Shift dates loaded by the latest run")
+                .register(registry);
+        Gauge.builder("autoassignment.run.enrollments", lastEnrollments, AtomicInteger::get)
+                .description("Shift enrollments loaded by the latest run")
+                .register(registry);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("autoassignment.phase")
+                .description("Time spent in one phase of a run")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer scanTimer(String target) {
+        return Timer.builder("autoassignment.eligibility.scan")
+                .description("Time spent refreshing assignable shifts or eligible employees")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    // Loading employees, shifts, enrollments and existing assignments
+    public Timer loadTimer() {
+        return loadTimer;
+    }
+
+    // Rule evaluation of all weeks, with either engine
+    public Timer solveTimer() {
+        return solveTimer;
+    }
+
+    // Writing the assignments
+    public Timer saveTimer() {
+        return saveTimer;
+    }
+
+    public Timer shiftScanTimer() {
+        return shiftScanTimer;
+    }
+
+    public Timer employeeScanTimer() {
+        return employeeScanTimer;
+    }
+
+    public Timer fireTimer(String agendaGroup) {
+        return fireTimers.computeIfAbsent(agendaGroup, group -> Timer.builder("autoassignment.rules.fire")
+                .description("fireAllRules of one agenda group")
+                .tag("agendaGroup", group)
+                .register(registry));
+    }
+
+    public void recordRunSize(int employees, int shifts, int enrollments) {
+        lastEmployees.set(employees);
+        lastShifts.set(shifts);
+        lastEnrollments.set(enrollments);
+    }
+
+    public void recordRun(AutoAssignmentResponse response, long nanos) {
+        Timer.builder("autoassignment.run")
+                .description("Whole auto-assignment runs")
+                .tag("outcome", response.isSuccess() ? "success" : "failure")
+                .tag("engine", response.getEngineUsed() != null ? response.getEngineUsed() : "none")
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        if (response.isSuccess()) {
+            assignmentsCounter.increment(response.getTotalAssignments());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.service;
+
+/**
+ * Receives the progress of one auto-assignment run, on the thread executing
+ * it. Both methods default to doing nothing.
+ */
+public interface AutoAssignmentProgress {
+    AutoAssignmentProgress NONE = new AutoAssignmentProgress() {
+    };
+
+    enum Phase {
+        QUEUED, LOADING, ENROLLMENT_ASSIGNMENT, REMAINING_ASSIGNMENT, SAVING, DONE
+    }
+
+    default void phase(Phase phase) {
+    }
+
+    // Total assignments made so far by the run
+    default void assignmentsMade(int count) {
+    }
+}
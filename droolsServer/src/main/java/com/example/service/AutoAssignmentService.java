@@ -1,27 +1,66 @@
 package com.example.service;
 
+import com.example.dto.AssignmentColumns;
+import com.example.dto.AssignmentResult;
 import com.example.dto.AutoAssignmentRequest;
 import com.example.dto.AutoAssignmentResponse;
+import com.example.jfr.AgendaGroupFireEvent;
+import com.example.jfr.AutoAssignmentRunEvent;
+import com.example.jfr.EligibilityRefreshEvent;
+import com.example.jfr.ShiftAssignedEvent;
 import com.example.model.*;
 import com.example.repository.*;
+import com.example.util.AssignmentLog;
+import com.example.util.AssignmentThresholds;
+import com.example.util.EmployeeEligibilityTracker;
+import com.example.util.KieSessionPool;
+import com.example.util.ShiftAssignmentCountIndex;
 import com.example.util.Sort;
 import org.kie.api.runtime.KieSession;
 import org.kie.api.runtime.rule.FactHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.time.LocalDateTime;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.ZoneId;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ArrayList;
-
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs an assignment in three steps: a read-only transaction that loads the
+ * working set as plain objects, rule evaluation without a connection or
+ * persistence context, and a short transaction that writes the assignments.
+ */
 @Service
-@Transactional
 public class AutoAssignmentService {
+    private static final Logger logger = LoggerFactory.getLogger(AutoAssignmentService.class);
+    private static final String ENGINE_DROOLS = "drools";
+    private static final String ENGINE_FAST = "fast";
+    private static final String ENGINE_COMPARE = "compare";
+    private static final int MAX_WEEKS = 53;
+
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private AutoAssignmentSnapshotLoader snapshotLoader;
 
     @Autowired
     private ShiftDateRepository shiftDateRepository;
@@ -31,70 +70,209 @@ public class AutoAssignmentService {
 
     @Autowired
     private ShiftAssignmentRepository shiftAssignmentRepository;
-    @Autowired
-    private PenaltyRecordRepository penaltyRecordRepository;
 
     @Autowired
     private DroolsService droolsService;
 
+    @Autowired
+    private FastPathAssignmentEngine fastPathEngine;
+
+    @Autowired
+    private AutoAssignmentMetrics metrics;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Weeks of one request solved at the same time, each on a pooled session
+    @Value("${autoassignment.weeks.parallelism:4}")
+    private int weekParallelism;
+
+    private ExecutorService weekExecutor;
+    private TransactionTemplate readTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @PostConstruct
+    public void init() {
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        weekExecutor = Executors.newFixedThreadPool(weekParallelism, r -> {
+            Thread t = new Thread(r, "auto-assignment-week-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        weekExecutor.shutdownNow();
+    }
+
     public AutoAssignmentResponse performAutoAssignment(AutoAssignmentRequest request) {
+        return performAutoAssignment(request, AutoAssignmentProgress.NONE);
+    }
+
+    public AutoAssignmentResponse performAutoAssignment(AutoAssignmentRequest request,
+            AutoAssignmentProgress progress) {
+        long start = System.nanoTime();
+        AutoAssignmentRunEvent runEvent = new AutoAssignmentRunEvent();
+        runEvent.begin();
+        AutoAssignmentResponse response = runAutoAssignment(request, progress, runEvent);
+        metrics.recordRun(response, System.nanoTime() - start);
+        runEvent.engine = response.getEngineUsed();
+        runEvent.assignments = response.getTotalAssignments();
+        runEvent.success = response.isSuccess();
+        runEvent.message = response.getMessage();
+        runEvent.commit();
+        return response;
+    }
+
+    private AutoAssignmentResponse runAutoAssignment(AutoAssignmentRequest request,
+            AutoAssignmentProgress progress, AutoAssignmentRunEvent runEvent) {
         AutoAssignmentResponse response = new AutoAssignmentResponse();
+        String engine = request.getEngine() != null ? request.getEngine().toLowerCase() : ENGINE_DROOLS;
+        if (!engine.equals(ENGINE_DROOLS) && !engine.equals(ENGINE_FAST) && !engine.equals(ENGINE_COMPARE)) {
+            return new AutoAssignmentResponse(false,
+                    "Unknown engine '" + request.getEngine() + "', expected drools, fast or compare");
+        }
+
+        // Next Monday to Sunday unless the request gives a range
+        LocalDate firstDay;
+        LocalDate lastDay;
+        boolean nextWeek = request.getStartDate() == null && request.getEndDate() == null;
+        if (nextWeek) {
+            firstDay = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            lastDay = firstDay.plusDays(6);
+        } else if (request.getStartDate() == null || request.getEndDate() == null) {
+            return new AutoAssignmentResponse(false, "startDate and endDate must be given together");
+        } else if (request.getStartDate().isAfter(request.getEndDate())) {
+            return new AutoAssignmentResponse(false, "startDate must not be after endDate");
+        } else {
+            firstDay = request.getStartDate();
+            lastDay = request.getEndDate();
+        }
+        // Weeks run Monday to Sunday; the caps of a week cut by the range still count the whole week
+        LocalDate firstMonday = firstDay.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        LocalDate lastSunday = lastDay.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+        int weekCount = (int) (ChronoUnit.DAYS.between(firstMonday, lastSunday) / 7) + 1;
+        if (weekCount > MAX_WEEKS) {
+            return new AutoAssignmentResponse(false,
+                    "Date range spans " + weekCount + " weeks, at most " + MAX_WEEKS + " are allowed");
+        }
+        runEvent.weeks = weekCount;
+
+        AssignmentLog log = new AssignmentLog(logger, request.isDebug());
         try {
-            // Calculate next week dates
-            int currentDayOfWeek = LocalDateTime.now().getDayOfWeek().getValue();
-            LocalDateTime nextWeekStart = LocalDateTime.now().plusDays(7 - currentDayOfWeek + 1).withHour(0)
-                    .withMinute(0).withSecond(0).withNano(0);
-            LocalDateTime nextWeekEnd = nextWeekStart.plusDays(6).withHour(23).withMinute(59).withSecond(59)
-                    .withNano(999999999);
-            LocalDateTime nextWeekStartDateTime = nextWeekStart;
-            LocalDateTime nextWeekEndDateTime = nextWeekEnd;
-
-            // Load part-time employees and initialize their assignedShiftInDay for next  week
-            List<Employee> employees = loadAndInitializePartTimeEmployees(nextWeekStartDateTime, nextWeekEndDateTime);
+            progress.phase(AutoAssignmentProgress.Phase.LOADING);
+            long loadStart = System.nanoTime();
+
+            LocalDateTime rangeStart = firstDay.atStartOfDay();
+            LocalDateTime rangeEnd = lastDay.atTime(LocalTime.MAX);
+            LocalDateTime countStart = firstMonday.atStartOfDay();
+            LocalDateTime countEnd = lastSunday.atTime(LocalTime.MAX);
+
+            Week snapshot = readTransaction.execute(status -> loadSnapshot(firstMonday, rangeStart, rangeEnd,
+                    countStart, countEnd));
+            List<Employee> employees = snapshot.employees;
+            List<Shift_Date> shiftDates = snapshot.shiftDates;
+            List<ShiftAssignment> existingAssignments = snapshot.existingAssignments;
+            List<ShiftEnrollment> shiftEnrollments = snapshot.enrollments;
             if (employees.isEmpty()) {
                 return new AutoAssignmentResponse(false, "No available part-time employees found in database");
             }
-
-            // Load shift dates for next week with shiftId > 2
-            List<Shift_Date> shiftDates = shiftDateRepository.findByShiftIdGreaterThan2AndShiftDateBetween(
-                    nextWeekStartDateTime, nextWeekEndDateTime);
-
             if (shiftDates.isEmpty()) {
-                return new AutoAssignmentResponse(false, "No shifts found for next week with shiftId > 2");
+                return new AutoAssignmentResponse(false, "No shifts found in the date range with shiftId > 2");
             }
-
-            // Initialize assigned employee counts for each shift
-            initializeShiftAssignedEmployees(shiftDates);
-
-            // Load existing shift assignments for next week from database
-            List<ShiftAssignment> existingAssignments = shiftAssignmentRepository.findByShiftDateBetween(
-                    nextWeekStartDateTime, nextWeekEndDateTime);
-
-            // Load shift enrollments for next week from database
-            List<ShiftEnrollment> shiftEnrollments = shiftEnrollmentRepository.findByShiftDateBetween(
-                    nextWeekStartDateTime, nextWeekEndDateTime);
-
             if (shiftEnrollments.isEmpty()) {
-                return new AutoAssignmentResponse(false, "No shift enrollments found for next week");
+                return new AutoAssignmentResponse(false, "No shift enrollments found in the date range");
             }
 
+            // Initialize assigned employee counts for each shift
+            initializeShiftAssignedEmployees(shiftDates, existingAssignments);
+            metrics.loadTimer().record(System.nanoTime() - loadStart, TimeUnit.NANOSECONDS);
+            metrics.recordRunSize(employees.size(), shiftDates.size(), shiftEnrollments.size());
+            runEvent.employees = employees.size();
+            runEvent.shifts = shiftDates.size();
+            runEvent.enrollments = shiftEnrollments.size();
+
             // Create Sort object based on request
             Sort sort = createSortFromOption(request.getSortOption());
 
-            // Execute Drools auto-assignment logic
-            List<ShiftAssignment> assignments = executeAssignmentLogic(
-                    employees, shiftDates, shiftEnrollments, existingAssignments, sort);
+            // The fast path only runs on decision tables whose rules it mirrors
+            AssignmentThresholds thresholds = engine.equals(ENGINE_DROOLS) ? null
+                    : droolsService.getAssignmentThresholds();
+            if (thresholds == null && !engine.equals(ENGINE_DROOLS)) {
+                logger.info("Fast path not available for the active decision table, using Drools");
+                engine = ENGINE_DROOLS;
+            }
+
+            long solveStart = System.nanoTime();
+            List<ShiftAssignment> assignments = new ArrayList<>();
+            List<String> mismatches = new ArrayList<>();
+            if (weekCount == 1) {
+                WeekResult result = solveWeek(new Week(firstMonday, employees, shiftDates, shiftEnrollments,
+                        existingAssignments), engine, sort, thresholds, progress, log);
+                assignments.addAll(result.assignments);
+                if (result.mismatch != null) {
+                    mismatches.add(result.mismatch);
+                }
+            } else {
+                // Weeks share no caps, so each is solved on its own session
+                progress.phase(AutoAssignmentProgress.Phase.ENROLLMENT_ASSIGNMENT);
+                List<Week> weeks = splitIntoWeeks(firstMonday, weekCount, employees, shiftDates,
+                        shiftEnrollments, existingAssignments);
+                AtomicInteger assignmentsMade = new AtomicInteger();
+                List<Future<WeekResult>> results = new ArrayList<>(weeks.size());
+                for (Week week : weeks) {
+                    String weekEngine = engine;
+                    AutoAssignmentProgress weekProgress = new WeekProgress(progress, assignmentsMade);
+                    results.add(weekExecutor.submit(() -> solveWeek(week, weekEngine, sort, thresholds,
+                            weekProgress, log)));
+                }
+                try {
+                    for (int i = 0; i < results.size(); i++) {
+                        WeekResult result = results.get(i).get();
+                        assignments.addAll(result.assignments);
+                        if (result.mismatch != null) {
+                            mismatches.add("week of " + weeks.get(i).monday + ": " + result.mismatch);
+                        }
+                    }
+                } catch (ExecutionException e) {
+                    throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+                } finally {
+                    for (Future<WeekResult> result : results) {
+                        result.cancel(true);
+                    }
+                }
+            }
+
+            metrics.solveTimer().record(System.nanoTime() - solveStart, TimeUnit.NANOSECONDS);
 
             // Save assignments to database
+            progress.phase(AutoAssignmentProgress.Phase.SAVING);
             if (!assignments.isEmpty()) {
-                shiftAssignmentRepository.saveAll(assignments);
+                long saveStart = System.nanoTime();
+                writeTransaction.executeWithoutResult(status -> shiftAssignmentRepository.upsertAll(assignments));
+                metrics.saveTimer().record(System.nanoTime() - saveStart, TimeUnit.NANOSECONDS);
             } // Build response
             response.setSuccess(true);
-            response.setAssignments(assignments);
+            if (request.isColumnar()) {
+                response.setAssignmentColumns(new AssignmentColumns(assignments));
+            } else {
+                response.setAssignments(AssignmentResult.fromAssignments(assignments));
+            }
             response.setSortOptionUsed(request.getSortOption());
+            response.setEngineUsed(engine);
             response.setMessage(String.format(
-                    "Successfully created %d assignments for next week (%s to %s)",
-                    assignments.size(), nextWeekStart.toLocalDate(), nextWeekEnd.toLocalDate()));
+                    "Successfully created %d assignments for %s (%s to %s)",
+                    assignments.size(), nextWeek ? "next week" : weekCount + " week(s)", firstDay, lastDay));
+            if (engine.equals(ENGINE_COMPARE)) {
+                response.setMessage(response.getMessage() + (mismatches.isEmpty()
+                        ? "; fast path matches Drools"
+                        : "; fast path differs from Drools: " + String.join("; ", mismatches)));
+            }
 
             return response;
 
@@ -104,85 +282,226 @@ public class AutoAssignmentService {
         }
     }
 
-    private List<Employee> loadAndInitializePartTimeEmployees(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Employee> employees = new ArrayList<>();
-
-        List<Integer> employeesId = employeeRepository.findAvailablePartTimeEmployeesId(startDate, endDate);
-        if (employeesId.isEmpty()) {
-            return employees;
+    /**
+     * Reads the working set of a run and returns it as plain objects:
+     * employee and shift copies, with enrollments and existing assignments
+     * rebuilt on them instead of on lazy proxies of the loading session.
+     * Stops at the first empty list, which fails the run anyway.
+     */
+    private Week loadSnapshot(LocalDate firstMonday, LocalDateTime rangeStart, LocalDateTime rangeEnd,
+            LocalDateTime countStart, LocalDateTime countEnd) {
+        // Load part-time employees and initialize their assignedShiftInDay for the range
+        List<Employee> employees = snapshotLoader.loadPartTimeEmployees(rangeStart, rangeEnd,
+                countStart, countEnd);
+        if (employees.isEmpty()) {
+            return new Week(firstMonday, employees, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
         }
 
-        for (Integer employeeId : employeesId) {
-            Employee employee = employeeRepository.findEmployeeById(employeeId);
-            if (employee != null) {
-                employees.add(employee);
-            }
+        // Load shift dates of the range with shiftId > 2
+        List<Shift_Date> shiftDates = shiftDateRepository.findByShiftIdGreaterThan2AndShiftDateBetween(
+                rangeStart, rangeEnd);
+        if (shiftDates.isEmpty()) {
+            return new Week(firstMonday, employees, shiftDates, new ArrayList<>(), new ArrayList<>());
         }
 
-        // Get current month and year for penalty calculation
-        LocalDate now = LocalDate.now();
-        int currentYear = now.getYear();
-        int currentMonth = now.getMonthValue();
+        // Load existing shift assignments of the weeks in the range from database
+        List<ShiftAssignment> existingAssignments = shiftAssignmentRepository.findByShiftDateBetween(
+                countStart, countEnd);
+
+        // Load shift enrollments of the range from database
+        List<ShiftEnrollment> enrollments = shiftEnrollmentRepository.findByShiftDateBetween(
+                rangeStart, rangeEnd);
 
-        // Initialize assignedShiftInDay for next week for each employee
+        Map<Integer, Employee> employeesById = new LinkedHashMap<>();
         for (Employee employee : employees) {
-            employee.getAssignedShiftInDay().clear();
-
-            // Get existing assignments for this employee in the next week
-            List<ShiftAssignment> existingAssignments = shiftAssignmentRepository
-                    .findByEmployeeAndShiftDateBetween(employee.getEmployeeId(), startDate, endDate);
-
-            // Initialize all days of next week to 0 using LocalDate
-            LocalDate currentDate = startDate.toLocalDate();
-            LocalDate endDateOnly = endDate.toLocalDate();
-            while (!currentDate.isAfter(endDateOnly)) {
-                employee.setAssignedShiftInDay(currentDate.atStartOfDay(), 0);
-                currentDate = currentDate.plusDays(1);
-            }
+            employeesById.put(employee.getEmployeeId(), new Employee(employee));
+        }
+        Map<ShiftDateId, Shift_Date> shiftsById = new LinkedHashMap<>();
+        for (Shift_Date shiftDate : shiftDates) {
+            shiftsById.put(new ShiftDateId(shiftDate.getShiftId(), shiftDate.getShiftDate()),
+                    new Shift_Date(shiftDate));
+        }
+        List<ShiftEnrollment> detachedEnrollments = new ArrayList<>(enrollments.size());
+        for (ShiftEnrollment enrollment : enrollments) {
+            ShiftEnrollment copy = new ShiftEnrollment(
+                    findEmployee(employeesById, enrollment.getEmployeeId()),
+                    findShift(shiftsById, enrollment.getShiftId(), enrollment.getShiftDate()));
+            copy.setEnrollmentDate(enrollment.getEnrollmentDate());
+            copy.setEnrollmentStatus(enrollment.getEnrollmentStatus());
+            detachedEnrollments.add(copy);
+        }
+        List<ShiftAssignment> detachedAssignments = new ArrayList<>(existingAssignments.size());
+        for (ShiftAssignment assignment : existingAssignments) {
+            detachedAssignments.add(new ShiftAssignment(
+                    findEmployee(employeesById, assignment.getEmployeeId()),
+                    findShift(shiftsById, assignment.getShiftId(), assignment.getShiftDate()),
+                    assignment.getAssignmentStatus()));
+        }
+        return new Week(firstMonday, new ArrayList<>(employeesById.values()), new ArrayList<>(shiftsById.values()),
+                detachedEnrollments, detachedAssignments);
+    }
 
-            // Set actual assignment counts from database
-            for (ShiftAssignment assignment : existingAssignments) {
-                LocalDateTime assignmentDateTime = assignment.getShiftDate();
-                int currentCount = employee.getAssignedShiftInDay(assignmentDateTime);
-                employee.setAssignedShiftInDay(assignmentDateTime, currentCount + 1);
-            }
+    private WeekResult solveWeek(Week week, String engine, Sort sort, AssignmentThresholds thresholds,
+            AutoAssignmentProgress progress, AssignmentLog log) {
+        // Runs before Drools, which updates the loaded entities while it assigns
+        List<ShiftAssignment> fastAssignments = null;
+        if (!engine.equals(ENGINE_DROOLS)) {
+            fastAssignments = fastPathEngine.assign(week.employees, week.shiftDates, week.enrollments,
+                    week.existingAssignments, sort, thresholds);
+        }
 
-            // Calculate total assigned shifts in week
-            int totalWeekAssignments = shiftAssignmentRepository
-                    .countByEmployeeAndShiftDateBetween(employee.getEmployeeId(), startDate, endDate);
-            employee.setAssingedShiftInWeek(totalWeekAssignments);
-
-            // Calculate and set priority score based on penalty records for current month
-            try {
-                long lateCount = penaltyRecordRepository.countByEmployeeIdAndPenaltyTypeAndCurrentMonth(
-                        employee.getEmployeeId(), "late", currentYear, currentMonth);
-                long absenceCount = penaltyRecordRepository.countByEmployeeIdAndPenaltyTypeAndCurrentMonth(
-                        employee.getEmployeeId(), "absence", currentYear, currentMonth);
-
-                // Calculate priority score: 100 - (lateCount + absenceCount * 3)
-                int penaltyDeduction = (int) (lateCount + absenceCount * 3);
-                int priorityScore = Math.max(0, 100 - penaltyDeduction);
-                employee.setPriorityScore(priorityScore);
-
-            } catch (Exception e) {
-                // If penalty calculation fails, set default priority score
-                employee.setPriorityScore(100);
-                System.err.println("Failed to calculate penalty score for employee " +
-                        employee.getEmployeeId() + ": " + e.getMessage());
+        if (engine.equals(ENGINE_FAST)) {
+            progress.assignmentsMade(fastAssignments.size());
+            return new WeekResult(fastAssignments, null);
+        }
+        // Execute Drools auto-assignment logic
+        List<ShiftAssignment> assignments = executeAssignmentLogic(week.employees, week.shiftDates,
+                week.enrollments, week.existingAssignments, sort, progress, log);
+        String mismatch = fastAssignments != null ? compareAssignments(assignments, fastAssignments) : null;
+        return new WeekResult(assignments, mismatch);
+    }
+
+    /**
+     * Splits the loaded range into Monday to Sunday weeks. Solved weeks run
+     * on other threads, so each gets its own employee copies with the week's
+     * counts, and enrollments and assignments rebuilt on those copies.
+     */
+    private List<Week> splitIntoWeeks(LocalDate firstMonday, int weekCount, List<Employee> employees,
+            List<Shift_Date> shiftDates, List<ShiftEnrollment> enrollments,
+            List<ShiftAssignment> existingAssignments) {
+        List<Week> weeks = new ArrayList<>(weekCount);
+        List<Map<Integer, Employee>> employeesByWeek = new ArrayList<>(weekCount);
+        for (int w = 0; w < weekCount; w++) {
+            LocalDate monday = firstMonday.plusWeeks(w);
+            Map<Integer, Employee> employeesById = new LinkedHashMap<>();
+            for (Employee employee : employees) {
+                Employee copy = new Employee(employee);
+                int assignedShiftInWeek = 0;
+                for (int day = 0; day < 7; day++) {
+                    assignedShiftInWeek += employee.getAssignedShiftInDay(monday.plusDays(day).atStartOfDay());
+                }
+                copy.setAssingedShiftInWeek(assignedShiftInWeek);
+                employeesById.put(copy.getEmployeeId(), copy);
             }
+            weeks.add(new Week(monday, new ArrayList<>(employeesById.values()), new ArrayList<>(),
+                    new ArrayList<>(), new ArrayList<>()));
+            employeesByWeek.add(employeesById);
         }
 
-        return employees;
+        Map<ShiftDateId, Shift_Date> shiftsById = new HashMap<>();
+        for (Shift_Date shiftDate : shiftDates) {
+            shiftsById.put(new ShiftDateId(shiftDate.getShiftId(), shiftDate.getShiftDate()), shiftDate);
+            weeks.get(weekIndex(firstMonday, shiftDate.getShiftDate())).shiftDates.add(shiftDate);
+        }
+        for (ShiftEnrollment enrollment : enrollments) {
+            int w = weekIndex(firstMonday, enrollment.getShiftDate());
+            ShiftEnrollment copy = new ShiftEnrollment(
+                    findEmployee(employeesByWeek.get(w), enrollment.getEmployeeId()),
+                    findShift(shiftsById, enrollment.getShiftId(), enrollment.getShiftDate()));
+            copy.setEnrollmentDate(enrollment.getEnrollmentDate());
+            copy.setEnrollmentStatus(enrollment.getEnrollmentStatus());
+            weeks.get(w).enrollments.add(copy);
+        }
+        for (ShiftAssignment assignment : existingAssignments) {
+            int w = weekIndex(firstMonday, assignment.getShiftDate());
+            weeks.get(w).existingAssignments.add(new ShiftAssignment(
+                    findEmployee(employeesByWeek.get(w), assignment.getEmployeeId()),
+                    findShift(shiftsById, assignment.getShiftId(), assignment.getShiftDate()),
+                    assignment.getAssignmentStatus()));
+        }
+        return weeks;
     }
 
-    private void initializeShiftAssignedEmployees(List<Shift_Date> shiftDates) {
-        for (Shift_Date shiftDate : shiftDates) {
-            // Count current assignments for this specific shift and date
-            int currentAssignments = shiftAssignmentRepository.countByShiftIdAndShiftDate(
-                    shiftDate.getShiftId(), shiftDate.getShiftDate());
+    private static int weekIndex(LocalDate firstMonday, LocalDateTime shiftDate) {
+        return (int) (ChronoUnit.DAYS.between(firstMonday, shiftDate.toLocalDate()) / 7);
+    }
+
+    // Employees outside the snapshot only need their id, which is all equals compares
+    private static Employee findEmployee(Map<Integer, Employee> employeesById, int employeeId) {
+        Employee employee = employeesById.get(employeeId);
+        return employee != null ? employee : new Employee(employeeId);
+    }
+
+    private static Shift_Date findShift(Map<ShiftDateId, Shift_Date> shiftsById, int shiftId,
+            LocalDateTime shiftDate) {
+        Shift_Date shift = shiftsById.get(new ShiftDateId(shiftId, shiftDate));
+        return shift != null ? shift : new Shift_Date(shiftId, shiftDate, 0, false, false);
+    }
+
+    private static class Week {
+        final LocalDate monday;
+        final List<Employee> employees;
+        final List<Shift_Date> shiftDates;
+        final List<ShiftEnrollment> enrollments;
+        final List<ShiftAssignment> existingAssignments;
+
+        Week(LocalDate monday, List<Employee> employees, List<Shift_Date> shiftDates,
+                List<ShiftEnrollment> enrollments, List<ShiftAssignment> existingAssignments) {
+            this.monday = monday;
+            this.employees = employees;
+            this.shiftDates = shiftDates;
+            this.enrollments = enrollments;
+            this.existingAssignments = existingAssignments;
+        }
+    }
+
+    private static class WeekResult {
+        final List<ShiftAssignment> assignments;
+        final String mismatch;
+
+        WeekResult(List<ShiftAssignment> assignments, String mismatch) {
+            this.assignments = assignments;
+            this.mismatch = mismatch;
+        }
+    }
+
+    // Reports the assignments of all weeks as one count; phases of single weeks are left out
+    private static class WeekProgress implements AutoAssignmentProgress {
+        private final AutoAssignmentProgress progress;
+        private final AtomicInteger total;
+        private int made;
+
+        WeekProgress(AutoAssignmentProgress progress, AtomicInteger total) {
+            this.progress = progress;
+            this.total = total;
+        }
+
+        @Override
+        public void assignmentsMade(int count) {
+            int delta = count - made;
+            made = count;
+            progress.assignmentsMade(total.addAndGet(delta));
+        }
+    }
+
+    // Null when both engines made the same assignments in the same order
+    private String compareAssignments(List<ShiftAssignment> droolsAssignments,
+            List<ShiftAssignment> fastAssignments) {
+        int common = Math.min(droolsAssignments.size(), fastAssignments.size());
+        for (int i = 0; i < common; i++) {
+            ShiftAssignment expected = droolsAssignments.get(i);
+            ShiftAssignment actual = fastAssignments.get(i);
+            if (!expected.equals(actual) || !expected.getAssignmentStatus().equals(actual.getAssignmentStatus())) {
+                String mismatch = "assignment " + i + " is " + actual + ", Drools made " + expected;
+                logger.warn("Fast path mismatch: {}", mismatch);
+                return mismatch;
+            }
+        }
+        if (droolsAssignments.size() != fastAssignments.size()) {
+            String mismatch = fastAssignments.size() + " assignments, Drools made " + droolsAssignments.size();
+            logger.warn("Fast path mismatch: {}", mismatch);
+            return mismatch;
+        }
+        return null;
+    }
 
+    private void initializeShiftAssignedEmployees(List<Shift_Date> shiftDates,
+            List<ShiftAssignment> existingAssignments) {
+        // Count current assignments per shift and date from the already loaded week
+        ShiftAssignmentCountIndex assignmentCounts = ShiftAssignmentCountIndex.fromAssignments(existingAssignments);
+        for (Shift_Date shiftDate : shiftDates) {
             // Set the assigned employees count - Drools will use this information
-            shiftDate.setAssignedEmployees(currentAssignments);
+            shiftDate.setAssignedEmployees(assignmentCounts.getCount(shiftDate));
         }
     }
 
@@ -208,15 +527,32 @@ public class AutoAssignmentService {
         return sort;
     }
 
-    private List<ShiftAssignment> executeAssignmentLogic(
+    // Package-private so the benchmarks module can run it on synthetic rosters
+    List<ShiftAssignment> executeAssignmentLogic(
             List<Employee> employees,
             List<Shift_Date> shiftDates,
             List<ShiftEnrollment> enrollments,
             List<ShiftAssignment> existingAssignments,
             Sort sort) {
+        return executeAssignmentLogic(employees, shiftDates, enrollments, existingAssignments, sort,
+                AutoAssignmentProgress.NONE, new AssignmentLog(logger, false));
+    }
 
-        KieSession kieSession = droolsService.getKieSession();
-        List<ShiftAssignment> assignments = new ArrayList<>();
+    private List<ShiftAssignment> executeAssignmentLogic(
+            List<Employee> employees,
+            List<Shift_Date> shiftDates,
+            List<ShiftEnrollment> enrollments,
+            List<ShiftAssignment> existingAssignments,
+            Sort sort,
+            AutoAssignmentProgress progress,
+            AssignmentLog log) {
+
+        KieSessionPool.Lease sessionLease = droolsService.borrowKieSession();
+        if (log.isForced()) {
+            sessionLease.forceRuleTrace();
+        }
+        Run run = new Run(sessionLease.getKieSession(), employees, shiftDates, enrollments.size(), progress, log);
+        KieSession kieSession = run.kieSession;
 
         try {
             // Insert all facts into KieSession
@@ -233,105 +569,104 @@ public class AutoAssignmentService {
                 kieSession.insert(existingAssignment);
             }
 
-            // Create container objects
-            ShiftEnrollments shiftEnrollments = new ShiftEnrollments();
             for (ShiftEnrollment enrollment : enrollments) {
-                shiftEnrollments.addEnrollment(enrollment);
-                kieSession.insert(enrollment);
+                run.shiftEnrollments.addEnrollment(enrollment, kieSession.insert(enrollment));
             }
-            EligibleEmployees eligibleEmployees = new EligibleEmployees();
-            AssignableShifts assignableShifts = new AssignableShifts();
-            ShiftAssignments shiftAssignments = new ShiftAssignments();
-            AutoAssignmentContext autoAssignmentContext = new AutoAssignmentContext();
 
-            kieSession.insert(autoAssignmentContext);
-            kieSession.insert(eligibleEmployees);
+            kieSession.insert(run.autoAssignmentContext);
+            kieSession.insert(run.eligibleEmployees);
             kieSession.insert(sort);
 
+            // From here on only employees updated in the session need an eligibility re-check
+            kieSession.addEventListener(run.eligibilityTracker);
+
             // Execute assignment logic similar to DroolsEvaluator
-            System.out.println("Starting enrollment based assignment process...");
-            executeEnrollmentBasedAssignment(kieSession, employees, shiftDates,
-                    shiftEnrollments, eligibleEmployees, assignableShifts,
-                    shiftAssignments, autoAssignmentContext);
+            log.debug("Starting enrollment based assignment process...");
+            progress.phase(AutoAssignmentProgress.Phase.ENROLLMENT_ASSIGNMENT);
+            executeEnrollmentBasedAssignment(run);
 
-            System.out.println("Starting remaining shift assignment process...");
+            log.debug("Starting remaining shift assignment process...");
+            progress.phase(AutoAssignmentProgress.Phase.REMAINING_ASSIGNMENT);
             // Execute remaining shift assignment
-            executeRemainingShiftAssignment(kieSession, employees, shiftDates,
-                    eligibleEmployees, assignableShifts, shiftAssignments, autoAssignmentContext);
+            executeRemainingShiftAssignment(run);
 
-            // Safely copy assignments to avoid concurrent modification
-            synchronized (shiftAssignments) {
-                assignments.addAll(new ArrayList<>(shiftAssignments.getAssignments()));
-            }
+            return new ArrayList<>(run.shiftAssignments.getAssignments());
 
         } finally {
-            // Clear all facts from KieSession safely
-            try {
-                // Get all fact handles first, then delete them
-                List<FactHandle> factHandles = new ArrayList<>(kieSession.getFactHandles());
-                for (FactHandle factHandle : factHandles) {
-                    if (factHandle != null) {
-                        kieSession.delete(factHandle);
-                    }
-                }
-            } catch (Exception e) {
-                System.err.println("Warning: Error clearing KieSession facts: " + e.getMessage());
-                // Continue execution even if cleanup fails
-            }
+            // Give the session back; the pool clears all facts before reusing it
+            kieSession.removeEventListener(run.eligibilityTracker);
+            sessionLease.close();
         }
+    }
 
-        return assignments;
+    /**
+     * State of one assignment run: the leased session, the roster lists it
+     * removes from and the fact containers inserted into the session. Only
+     * the thread executing the run touches it, so nothing here is locked and
+     * concurrent runs share no monitor.
+     */
+    private static class Run {
+        final KieSession kieSession;
+        final List<Employee> employees;
+        final List<Shift_Date> shiftDates;
+        final ShiftEnrollments shiftEnrollments;
+        final EligibleEmployees eligibleEmployees;
+        final AssignableShifts assignableShifts = new AssignableShifts();
+        final ShiftAssignments shiftAssignments = new ShiftAssignments();
+        final AutoAssignmentContext autoAssignmentContext = new AutoAssignmentContext();
+        final EmployeeEligibilityTracker eligibilityTracker;
+        final AutoAssignmentProgress progress;
+        final AssignmentLog log;
+
+        Run(KieSession kieSession, List<Employee> employees, List<Shift_Date> shiftDates, int enrollmentCount,
+                AutoAssignmentProgress progress, AssignmentLog log) {
+            this.kieSession = kieSession;
+            this.employees = employees;
+            this.shiftDates = shiftDates;
+            this.shiftEnrollments = new ShiftEnrollments(enrollmentCount);
+            this.eligibilityTracker = new EmployeeEligibilityTracker(employees);
+            this.progress = progress;
+            this.log = log;
+            this.eligibleEmployees = new EligibleEmployees(log);
+        }
     }
 
     // Implementation based on DroolsEvaluator Step 1
-    private void executeEnrollmentBasedAssignment(
-            KieSession kieSession,
-            List<Employee> employees,
-            List<Shift_Date> shiftDates,
-            ShiftEnrollments shiftEnrollments,
-            EligibleEmployees eligibleEmployees,
-            AssignableShifts assignableShifts,
-            ShiftAssignments shiftAssignments,
-            AutoAssignmentContext autoAssignmentContext) {
+    private void executeEnrollmentBasedAssignment(Run run) {
+        KieSession kieSession = run.kieSession;
+        ShiftEnrollments shiftEnrollments = run.shiftEnrollments;
+        EligibleEmployees eligibleEmployees = run.eligibleEmployees;
+        AssignableShifts assignableShifts = run.assignableShifts;
+        AutoAssignmentContext autoAssignmentContext = run.autoAssignmentContext;
 
         while (shiftEnrollments.getSize() > 0) {
             // Execute EnrollmentShiftRule
-            kieSession.getAgenda().getAgendaGroup("EnrollmentShiftRule").setFocus();
-            kieSession.fireAllRules();
+            fireAgendaGroup(kieSession, "EnrollmentShiftRule");
 
             // Update assignable shifts
-            updateAssignableShifts(kieSession, shiftDates, assignableShifts, shiftEnrollments);
+            updateAssignableShifts(run, true);
             if (assignableShifts.getSize() <= 0 || shiftEnrollments.getSize() <= 0) {
-                System.out.println("Breaking from enrollment loop - assignable: " + assignableShifts.getSize()
-                        + ", enrollments: " + shiftEnrollments.getSize());
-                break;
-            }
-
-            if (assignableShifts.getSize() <= 0) {
-                System.out.println("Breaking from enrollment loop - no assignable shifts");
+                run.log.debug("Breaking from enrollment loop - assignable: {}, enrollments: {}",
+                        assignableShifts.getSize(), shiftEnrollments.getSize());
                 break;
             }
 
             int iter = 0;
             do {
                 // Set current shift context
-                synchronized (assignableShifts) {
-                    autoAssignmentContext.setCurrentShift(assignableShifts.getShifts().get(iter));
-                }
+                autoAssignmentContext.setCurrentShift(assignableShifts.getShifts().get(iter));
                 FactHandle contextHandle = kieSession.getFactHandle(autoAssignmentContext);
                 kieSession.update(contextHandle, autoAssignmentContext);
 
                 // Execute EmployeeRule
-                kieSession.getAgenda().getAgendaGroup("EnrollmentEmployeeRule").setFocus();
-                kieSession.fireAllRules();
+                fireAgendaGroup(kieSession, "EnrollmentEmployeeRule");
 
                 // Update eligible employees
-                updateEligibleEmployees(kieSession, employees, eligibleEmployees, shiftEnrollments);
+                updateEligibleEmployees(run, true);
 
                 if (eligibleEmployees.getSize() > 0) {
-                    System.out.println(
-                            "Found at least one assignable enrollment shift with eligible employees to be assigned"
-                                    + " at " + autoAssignmentContext.getCurrentShift());
+                    run.log.debug("Found at least one assignable enrollment shift with eligible employees to be"
+                            + " assigned at {}", autoAssignmentContext.getCurrentShift());
                     break;
                 }
 
@@ -339,7 +674,7 @@ public class AutoAssignmentService {
             } while (iter < assignableShifts.getSize());
 
             if (eligibleEmployees.getSize() <= 0) {
-                System.out.println("Breaking from enrollment loop - no eligible employees");
+                run.log.debug("Breaking from enrollment loop - no eligible employees");
                 break;
             }
 
@@ -349,37 +684,28 @@ public class AutoAssignmentService {
                 kieSession.update(eligibleHandle, eligibleEmployees);
             }
 
-            kieSession.getAgenda().getAgendaGroup("EmployeeSortingRule").setFocus();
-            kieSession.fireAllRules(); // Make assignment
+            fireAgendaGroup(kieSession, "EmployeeSortingRule"); // Make assignment
             if (eligibleEmployees.getSize() > 0) {
                 Shift_Date chosenShift = autoAssignmentContext.getCurrentShift();
-                Employee chosenEmployee = null;
-                synchronized (eligibleEmployees) {
-                    if (eligibleEmployees.getEmployees().size() > 0) {
-                        chosenEmployee = eligibleEmployees.getEmployees().get(0);
-                    }
-                }
+                Employee chosenEmployee = eligibleEmployees.getEmployees().get(0);
 
-                if (chosenEmployee != null) {
-                    ShiftAssignment assignment = assignEmployeeToShift(kieSession, chosenShift, chosenEmployee, "approved");
-                    shiftAssignments.addAssignment(assignment);
+                ShiftAssignment assignment = assignEmployeeToShift(kieSession, chosenShift, chosenEmployee, "approved");
+                run.shiftAssignments.addAssignment(assignment);
+                run.progress.assignmentsMade(run.shiftAssignments.getSize());
 
-                    // Remove processed enrollment
-                    removeProcessedEnrollment(kieSession, shiftEnrollments, chosenEmployee, chosenShift);
-                }
+                // Remove processed enrollment
+                removeProcessedEnrollment(kieSession, shiftEnrollments, chosenEmployee, chosenShift);
             }
         }
     }
 
     // Implementation based on DroolsEvaluator Step 2
-    private void executeRemainingShiftAssignment(
-            KieSession kieSession,
-            List<Employee> employees,
-            List<Shift_Date> shiftDates,
-            EligibleEmployees eligibleEmployees,
-            AssignableShifts assignableShifts,
-            ShiftAssignments shiftAssignments,
-            AutoAssignmentContext autoAssignmentContext) {
+    private void executeRemainingShiftAssignment(Run run) {
+        KieSession kieSession = run.kieSession;
+        EligibleEmployees eligibleEmployees = run.eligibleEmployees;
+        AssignableShifts assignableShifts = run.assignableShifts;
+        ShiftAssignments shiftAssignments = run.shiftAssignments;
+        AutoAssignmentContext autoAssignmentContext = run.autoAssignmentContext;
         int iterationCount = 0;
         final int MAX_ITERATIONS = 300;
         int lastAssignmentCount = 0;
@@ -388,51 +714,44 @@ public class AutoAssignmentService {
             iterationCount++;
 
             if (iterationCount > MAX_ITERATIONS) {
-                System.out.println("**ERROR**: Reached maximum iterations (" + MAX_ITERATIONS
-                        + "). Breaking to prevent infinite loop!");
+                logger.error("Reached maximum iterations ({}). Breaking to prevent infinite loop!", MAX_ITERATIONS);
                 break;
             }
 
             // Safety check: If no progress is being made, break the loop
             if (shiftAssignments.getSize() == lastAssignmentCount && iterationCount > 10) {
-                System.out.println(
-                        "**SAFETY**: No assignments made in the last iteration. Breaking to prevent infinite loop!");
+                logger.warn("No assignments made in the last iteration. Breaking to prevent infinite loop!");
                 break;
             }
             lastAssignmentCount = shiftAssignments.getSize();
 
             // Execute ShiftRule
-            kieSession.getAgenda().getAgendaGroup("ShiftRule").setFocus();
-            kieSession.fireAllRules();
+            fireAgendaGroup(kieSession, "ShiftRule");
 
             // Update assignable shifts
-            updateAssignableShiftsForRemainingAssignment(kieSession, shiftDates, assignableShifts);
+            updateAssignableShifts(run, false);
 
             if (assignableShifts.getSize() <= 0) {
-                System.out.println("Breaking from remaining assignment - no assignable shifts");
+                run.log.debug("Breaking from remaining assignment - no assignable shifts");
                 break;
             }
 
             int iter = 0;
             do {
                 // Set current shift context
-                synchronized (assignableShifts) {
-                    autoAssignmentContext.setCurrentShift(assignableShifts.getShifts().get(iter));
-                }
+                autoAssignmentContext.setCurrentShift(assignableShifts.getShifts().get(iter));
                 FactHandle contextHandle = kieSession.getFactHandle(autoAssignmentContext);
                 kieSession.update(contextHandle, autoAssignmentContext);
 
                 // Execute EmployeeRule
-                kieSession.getAgenda().getAgendaGroup("EmployeeRule").setFocus();
-                kieSession.fireAllRules();
+                fireAgendaGroup(kieSession, "EmployeeRule");
 
                 // Update eligible employees
-                updateEligibleEmployeesForRemainingAssignment(kieSession, employees, eligibleEmployees);
+                updateEligibleEmployees(run, false);
 
                 if (eligibleEmployees.getSize() > 0) {
-                    System.out.println(
-                            "Found at least one assignable remaining shift with eligible employees to be assigned"
-                                    + " at " + autoAssignmentContext.getCurrentShift());
+                    run.log.debug("Found at least one assignable remaining shift with eligible employees to be"
+                            + " assigned at {}", autoAssignmentContext.getCurrentShift());
                     break;
                 }
 
@@ -440,7 +759,7 @@ public class AutoAssignmentService {
             } while (iter < assignableShifts.getSize());
 
             if (eligibleEmployees.getSize() <= 0) {
-                System.out.println("Breaking from remaining assignment - no eligible employees");
+                run.log.debug("Breaking from remaining assignment - no eligible employees");
                 break;
             }
 
@@ -450,34 +769,38 @@ public class AutoAssignmentService {
                 kieSession.update(eligibleHandle, eligibleEmployees);
             }
 
-            kieSession.getAgenda().getAgendaGroup("EmployeeSortingRule").setFocus();
-            kieSession.fireAllRules();
+            fireAgendaGroup(kieSession, "EmployeeSortingRule");
 
             if (eligibleEmployees.getSize() <= 0) {
-                System.out.println("Breaking from remaining assignment - no eligible employees after sorting");
+                run.log.debug("Breaking from remaining assignment - no eligible employees after sorting");
                 break;
             }
 
             // Make assignment
-            if (eligibleEmployees.getSize() > 0) {
-                Shift_Date chosenShift = autoAssignmentContext.getCurrentShift();
-                Employee chosenEmployee = null;
-                synchronized (eligibleEmployees) {
-                    if (eligibleEmployees.getEmployees().size() > 0) {
-                        chosenEmployee = eligibleEmployees.getEmployees().get(0);
-                    }
-                }
-
-                if (chosenEmployee != null) {
-                    ShiftAssignment assignment = assignEmployeeToShift(kieSession, chosenShift, chosenEmployee, "pending");
-                    shiftAssignments.addAssignment(assignment);
-                }
-            }
+            Shift_Date chosenShift = autoAssignmentContext.getCurrentShift();
+            Employee chosenEmployee = eligibleEmployees.getEmployees().get(0);
+            ShiftAssignment assignment = assignEmployeeToShift(kieSession, chosenShift, chosenEmployee, "pending");
+            shiftAssignments.addAssignment(assignment);
+            run.progress.assignmentsMade(shiftAssignments.getSize());
 
         } while (true);
     }
 
+    private void fireAgendaGroup(KieSession kieSession, String agendaGroup) {
+        AgendaGroupFireEvent event = new AgendaGroupFireEvent();
+        event.begin();
+        long start = System.nanoTime();
+        kieSession.getAgenda().getAgendaGroup(agendaGroup).setFocus();
+        int rulesFired = kieSession.fireAllRules();
+        metrics.fireTimer(agendaGroup).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.agendaGroup = agendaGroup;
+        event.rulesFired = rulesFired;
+        event.commit();
+    }
+
     private ShiftAssignment assignEmployeeToShift(KieSession kieSession, Shift_Date shift, Employee employee, String assignmentStatus) {
+        ShiftAssignedEvent event = new ShiftAssignedEvent();
+        event.begin();
         // Update shift
         shift.setAssignedEmployees(shift.getAssignedEmployees() + 1);
         FactHandle shiftHandle = kieSession.getFactHandle(shift);
@@ -485,7 +808,7 @@ public class AutoAssignmentService {
 
         // Update employee
         LocalDateTime shiftDateTime = shift.getShiftDate();
-        employee.setAssignedShiftInDay(shiftDateTime, employee.getAssignedShiftInDay(shiftDateTime) + 1);
+        employee.incrementAssignedShiftInDay(shiftDateTime);
         employee.setAssingedShiftInWeek(employee.getAssignedShiftInWeek() + 1);
         FactHandle employeeHandle = kieSession.getFactHandle(employee);
         kieSession.update(employeeHandle, employee);
@@ -494,55 +817,36 @@ public class AutoAssignmentService {
         ShiftAssignment assignment = new ShiftAssignment(employee, shift, assignmentStatus);
         kieSession.insert(assignment);
 
-        return assignment;
-    }
-
-    private synchronized void updateAssignableShifts(KieSession kieSession, List<Shift_Date> shiftDates,
-            AssignableShifts assignableShifts, ShiftEnrollments shiftEnrollments) {
-        assignableShifts.clearShifts();
-
-        // Create a copy to avoid ConcurrentModificationException
-        List<Shift_Date> shiftsToRemove = new ArrayList<>();
-
-        // Use a defensive copy and synchronize access
-        List<Shift_Date> shiftDatesCopy = new ArrayList<>(shiftDates);
-        for (Shift_Date shift : shiftDatesCopy) {
-            if (shift.isAssignable() && !shift.isDeletable()) {
-                assignableShifts.addShift(shift);
-            }
-
-            if (shift.isDeletable()) {
-                shiftEnrollments.removeEnrollments(shift, kieSession);
-                FactHandle handle = kieSession.getFactHandle(shift);
-                if (handle != null) {
-                    kieSession.delete(handle);
-                }
-                shiftsToRemove.add(shift);
-            }
+        if (event.shouldCommit()) {
+            event.employeeId = employee.getEmployeeId();
+            event.shiftId = shift.getShiftId();
+            event.shiftDate = shiftDateTime.toString();
+            event.status = assignmentStatus;
+            event.commit();
         }
 
-        // Remove deletable shifts from original list after iteration
-        synchronized (shiftDates) {
-            shiftDates.removeAll(shiftsToRemove);
-        }
+        return assignment;
     }
 
-    private synchronized void updateAssignableShiftsForRemainingAssignment(KieSession kieSession,
-            List<Shift_Date> shiftDates,
-            AssignableShifts assignableShifts) {
-        assignableShifts.clearShifts();
+    // In the enrollment phase the enrollments of deleted shifts go too
+    private void updateAssignableShifts(Run run, boolean enrollmentPhase) {
+        EligibilityRefreshEvent event = new EligibilityRefreshEvent();
+        event.begin();
+        long start = System.nanoTime();
+        KieSession kieSession = run.kieSession;
+        run.assignableShifts.clearShifts();
+        int checked = run.shiftDates.size();
 
-        // Create a copy to avoid ConcurrentModificationException
         List<Shift_Date> shiftsToRemove = new ArrayList<>();
-
-        // Use a defensive copy and synchronize access
-        List<Shift_Date> shiftDatesCopy = new ArrayList<>(shiftDates);
-        for (Shift_Date shift : shiftDatesCopy) {
+        for (Shift_Date shift : run.shiftDates) {
             if (shift.isAssignable() && !shift.isDeletable()) {
-                assignableShifts.addShift(shift);
+                run.assignableShifts.addShift(shift);
             }
 
             if (shift.isDeletable()) {
+                if (enrollmentPhase) {
+                    run.shiftEnrollments.removeEnrollments(shift, kieSession);
+                }
                 FactHandle handle = kieSession.getFactHandle(shift);
                 if (handle != null) {
                     kieSession.delete(handle);
@@ -552,57 +856,36 @@ public class AutoAssignmentService {
         }
 
         // Remove deletable shifts from original list after iteration
-        synchronized (shiftDates) {
-            shiftDates.removeAll(shiftsToRemove);
+        if (!shiftsToRemove.isEmpty()) {
+            run.shiftDates.removeAll(shiftsToRemove);
         }
+        metrics.shiftScanTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.target = "shifts";
+        event.enrollmentPhase = enrollmentPhase;
+        event.checked = checked;
+        event.removed = shiftsToRemove.size();
+        event.remaining = run.assignableShifts.getSize();
+        event.commit();
     }
 
-    private synchronized void updateEligibleEmployees(KieSession kieSession, List<Employee> employees,
-            EligibleEmployees eligibleEmployees, ShiftEnrollments shiftEnrollments) {
-        eligibleEmployees.clearEmployees();
-
-        // Create a copy to avoid ConcurrentModificationException
+    // In the enrollment phase the enrollments of deleted employees go too
+    private void updateEligibleEmployees(Run run, boolean enrollmentPhase) {
+        EligibilityRefreshEvent event = new EligibilityRefreshEvent();
+        event.begin();
+        long start = System.nanoTime();
+        KieSession kieSession = run.kieSession;
+        EmployeeEligibilityTracker eligibilityTracker = run.eligibilityTracker;
         List<Employee> employeesToRemove = new ArrayList<>();
 
-        // Use a defensive copy and synchronize access
-        List<Employee> employeesCopy = new ArrayList<>(employees);
-        for (Employee emp : employeesCopy) {
-            if (emp.isEligible() && !emp.isDeletable()) {
-                eligibleEmployees.addEmployee(emp);
-            }
+        // Flags only change through session updates, so the other employees keep their state
+        List<Employee> changed = eligibilityTracker.takeChanged();
+        for (Employee emp : changed) {
+            eligibilityTracker.setEligible(emp, emp.isEligible() && !emp.isDeletable());
 
             if (emp.isDeletable()) {
-                shiftEnrollments.removeEnrollments(emp, kieSession);
-                FactHandle handle = kieSession.getFactHandle(emp);
-                if (handle != null) {
-                    kieSession.delete(handle);
+                if (enrollmentPhase) {
+                    run.shiftEnrollments.removeEnrollments(emp, kieSession);
                 }
-                employeesToRemove.add(emp);
-            }
-        }
-
-        // Remove deletable employees from original list after iteration
-        synchronized (employees) {
-            employees.removeAll(employeesToRemove);
-        }
-    }
-
-    private synchronized void updateEligibleEmployeesForRemainingAssignment(KieSession kieSession,
-            List<Employee> employees,
-            EligibleEmployees eligibleEmployees) {
-        eligibleEmployees.clearEmployees();
-
-        // Create a copy to avoid ConcurrentModificationException
-        List<Employee> employeesToRemove = new ArrayList<>();
-
-        // Use a defensive copy and synchronize access
-        List<Employee> employeesCopy = new ArrayList<>(employees);
-        for (Employee emp : employeesCopy) {
-            if (emp.isEligible() && !emp.isDeletable()) {
-                eligibleEmployees.addEmployee(emp);
-            }
-
-            if (emp.isDeletable()) {
                 FactHandle handle = kieSession.getFactHandle(emp);
                 if (handle != null) {
                     kieSession.delete(handle);
@@ -612,30 +895,28 @@ public class AutoAssignmentService {
         }
 
         // Remove deletable employees from original list after iteration
-        synchronized (employees) {
-            employees.removeAll(employeesToRemove);
+        if (!employeesToRemove.isEmpty()) {
+            run.employees.removeAll(employeesToRemove);
+        }
+        // An unchanged set keeps its list: it is either still in roster order or
+        // re-sorted by the sorting rules, whose order does not depend on the input
+        if (eligibilityTracker.takeEligibleChanged()) {
+            run.eligibleEmployees.setEmployees(eligibilityTracker.getEligibleEmployees());
         }
+        metrics.employeeScanTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        event.target = "employees";
+        event.enrollmentPhase = enrollmentPhase;
+        event.checked = changed.size();
+        event.removed = employeesToRemove.size();
+        event.remaining = run.eligibleEmployees.getSize();
+        event.commit();
     }
 
-    private synchronized void removeProcessedEnrollment(KieSession kieSession, ShiftEnrollments shiftEnrollments,
+    private void removeProcessedEnrollment(KieSession kieSession, ShiftEnrollments shiftEnrollments,
             Employee employee, Shift_Date shift) {
-        ShiftEnrollment toRemove = null;
-
-        // Use defensive copy to avoid concurrent modification
-        List<ShiftEnrollment> enrollmentsCopy = new ArrayList<>(shiftEnrollments.getEnrollments());
-        for (ShiftEnrollment enrollment : enrollmentsCopy) {
-            if (enrollment.getEmployee().equals(employee) && enrollment.getShift().equals(shift)) {
-                toRemove = enrollment;
-                break;
-            }
-        }
-
+        ShiftEnrollment toRemove = shiftEnrollments.getEnrollment(employee, shift);
         if (toRemove != null) {
-            FactHandle handle = kieSession.getFactHandle(toRemove);
-            if (handle != null) {
-                kieSession.delete(handle);
-            }
-            shiftEnrollments.removeEnrollment(toRemove);
+            shiftEnrollments.removeEnrollment(toRemove, kieSession);
         }
     }
 }
@@ -0,0 +1,185 @@
+package com.example.service;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.repository.EmployeeRepository;
+import com.example.repository.PenaltyRecordRepository;
+import com.example.repository.ShiftAssignmentRepository;
+import com.example.repository.projection.EmployeeDayAssignmentCount;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the part-time employee working set for an auto-assignment run with a
+ * fixed number of set-based queries, independent of the roster size.
+ */
+@Service
+public class AutoAssignmentSnapshotLoader {
+    private static final Logger logger = LoggerFactory.getLogger(AutoAssignmentSnapshotLoader.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ShiftAssignmentRepository shiftAssignmentRepository;
+
+    @Autowired
+    private PenaltyRecordRepository penaltyRecordRepository;
+
+    @Autowired
+    private PenaltyScoreCache penaltyScoreCache;
+
+    // Also run the old per-employee loading path and log both timings
+    @Value("${autoassignment.snapshot.compare-legacy:false}")
+    private boolean compareLegacy;
+
+    public List<Employee> loadPartTimeEmployees(LocalDateTime startDate, LocalDateTime endDate) {
+        return loadPartTimeEmployees(startDate, endDate, startDate, endDate);
+    }
+
+    /**
+     * Loads the part-time employees enrolled between startDate and endDate,
+     * with their assignment counters taken over countStart to countEnd.
+     * The week counter then covers the whole counting range.
+     */
+    public List<Employee> loadPartTimeEmployees(LocalDateTime startDate, LocalDateTime endDate,
+            LocalDateTime countStart, LocalDateTime countEnd) {
+        List<Integer> employeesId = employeeRepository.findAvailablePartTimeEmployeesId(startDate, endDate);
+        if (employeesId.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        long legacyNanos = -1;
+        if (compareLegacy) {
+            long legacyStart = System.nanoTime();
+            loadPerEmployee(employeesId, countStart, countEnd);
+            legacyNanos = System.nanoTime() - legacyStart;
+        }
+
+        long bulkStart = System.nanoTime();
+        List<Employee> employees = loadBulk(employeesId, countStart, countEnd);
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        if (compareLegacy) {
+            logger.info("Loaded {} employees: bulk snapshot {} ms, per-employee {} ms",
+                    employees.size(), TimeUnit.NANOSECONDS.toMillis(bulkNanos),
+                    TimeUnit.NANOSECONDS.toMillis(legacyNanos));
+        } else {
+            logger.info("Loaded {} employees with bulk snapshot in {} ms",
+                    employees.size(), TimeUnit.NANOSECONDS.toMillis(bulkNanos));
+        }
+
+        return employees;
+    }
+
+    private List<Employee> loadBulk(List<Integer> employeesId, LocalDateTime startDate, LocalDateTime endDate) {
+        // Keep the order of the id query so runs stay deterministic
+        Map<Integer, Employee> employeesById = new HashMap<>();
+        for (Employee employee : employeeRepository.findEmployeesByIds(employeesId)) {
+            employeesById.put(employee.getEmployeeId(), employee);
+        }
+        List<Employee> employees = new ArrayList<>(employeesById.size());
+        for (Integer employeeId : employeesId) {
+            Employee employee = employeesById.get(employeeId);
+            if (employee != null) {
+                employees.add(employee);
+                initializeWeek(employee, startDate, endDate);
+            }
+        }
+
+        // Fill per-day and per-week counts from one grouped result set
+        List<EmployeeDayAssignmentCount> dayCounts = shiftAssignmentRepository
+                .countByEmployeesAndShiftDateBetween(employeesId, startDate, endDate);
+        for (EmployeeDayAssignmentCount dayCount : dayCounts) {
+            Employee employee = employeesById.get(dayCount.getEmployeeId());
+            if (employee == null) {
+                continue;
+            }
+            int count = dayCount.getAssignmentCount().intValue();
+            LocalDateTime shiftDate = dayCount.getShiftDate();
+            employee.setAssignedShiftInDay(shiftDate, employee.getAssignedShiftInDay(shiftDate) + count);
+            employee.setAssingedShiftInWeek(employee.getAssignedShiftInWeek() + count);
+        }
+
+        // Employees without penalty records this month keep the full score
+        for (Employee employee : employees) {
+            employee.setPriorityScore(PenaltyScoreCache.calculatePriorityScore(0, 0));
+        }
+        try {
+            Map<Integer, Integer> priorityScores = penaltyScoreCache.getPriorityScores(employeesId, YearMonth.now());
+            for (Employee employee : employees) {
+                Integer priorityScore = priorityScores.get(employee.getEmployeeId());
+                if (priorityScore != null) {
+                    employee.setPriorityScore(priorityScore);
+                }
+            }
+        } catch (Exception e) {
+            // If penalty calculation fails, keep default priority score
+            logger.warn("Failed to calculate penalty scores for {} employees: {}", employees.size(),
+                    e.getMessage());
+        }
+
+        return employees;
+    }
+
+    // Previous loading path: five queries per employee
+    private List<Employee> loadPerEmployee(List<Integer> employeesId, LocalDateTime startDate,
+            LocalDateTime endDate) {
+        List<Employee> employees = new ArrayList<>();
+        for (Integer employeeId : employeesId) {
+            Employee employee = employeeRepository.findEmployeeById(employeeId);
+            if (employee != null) {
+                employees.add(employee);
+            }
+        }
+
+        LocalDate now = LocalDate.now();
+        for (Employee employee : employees) {
+            initializeWeek(employee, startDate, endDate);
+
+            List<ShiftAssignment> existingAssignments = shiftAssignmentRepository
+                    .findByEmployeeAndShiftDateBetween(employee.getEmployeeId(), startDate, endDate);
+            for (ShiftAssignment assignment : existingAssignments) {
+                LocalDateTime assignmentDateTime = assignment.getShiftDate();
+                employee.incrementAssignedShiftInDay(assignmentDateTime);
+            }
+
+            employee.setAssingedShiftInWeek(shiftAssignmentRepository
+                    .countByEmployeeAndShiftDateBetween(employee.getEmployeeId(), startDate, endDate));
+
+            try {
+                long lateCount = penaltyRecordRepository.countByEmployeeIdAndPenaltyTypeAndCurrentMonth(
+                        employee.getEmployeeId(), "late", now.getYear(), now.getMonthValue());
+                long absenceCount = penaltyRecordRepository.countByEmployeeIdAndPenaltyTypeAndCurrentMonth(
+                        employee.getEmployeeId(), "absence", now.getYear(), now.getMonthValue());
+                employee.setPriorityScore(PenaltyScoreCache.calculatePriorityScore(lateCount, absenceCount));
+            } catch (Exception e) {
+                employee.setPriorityScore(100);
+                logger.warn("Failed to calculate penalty score for employee {}: {}",
+                        employee.getEmployeeId(), e.getMessage());
+            }
+        }
+
+        return employees;
+    }
+
+    // Reset counters and initialize all days of the range to 0
+    private void initializeWeek(Employee employee, LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstDay = startDate.toLocalDate();
+        int days = (int) (endDate.toLocalDate().toEpochDay() - firstDay.toEpochDay()) + 1;
+        employee.resetAssignedShiftInDay(firstDay, days);
+        employee.setAssingedShiftInWeek(0);
+    }
+}
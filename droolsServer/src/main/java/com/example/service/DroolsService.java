@@ -3,142 +3,387 @@ package com.example.service;
 import org.kie.api.KieServices;
 import org.kie.api.KieBase;
 import org.kie.api.KieBaseConfiguration;
-import org.kie.api.builder.KieBuilder;
-import org.kie.api.builder.KieFileSystem;
-import org.kie.api.builder.KieRepository;
-import org.kie.api.builder.ReleaseId;
 import org.kie.api.conf.EqualityBehaviorOption;
 import org.kie.api.runtime.KieContainer;
 import org.kie.api.runtime.KieSession;
-import org.kie.api.io.Resource;
-import org.kie.internal.io.ResourceFactory;
-import org.kie.internal.builder.DecisionTableConfiguration;
-import org.kie.internal.builder.DecisionTableInputType;
-import org.kie.internal.builder.KnowledgeBuilderFactory;
-import org.drools.decisiontable.DecisionTableProviderImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import com.example.dto.KieSessionPoolStats;
+import com.example.dto.RuleBaseStats;
+import com.example.dto.RuleProfile;
+import com.example.jfr.RuleBaseReloadEvent;
+import com.example.model.AssignableShifts;
+import com.example.model.AutoAssignmentContext;
+import com.example.model.EligibleEmployees;
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftAssignments;
+import com.example.model.ShiftEnrollment;
+import com.example.model.Shift_Date;
+import com.example.util.AssignmentLog;
+import com.example.util.AssignmentThresholds;
+import com.example.util.DecisionTableCompiler;
 import com.example.util.FileWatcher;
+import com.example.util.KieBaseCache;
+import com.example.util.KieSessionPool;
+import com.example.util.RuleBaseVersion;
+import com.example.util.RuleProfiler;
+import com.example.util.Sort;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class DroolsService {
-    private KieSession kieSession;
-    private KieContainer kieContainer;
+    private static final Logger logger = LoggerFactory.getLogger(DroolsService.class);
+    // Swapped atomically on reload; runs keep the version they borrowed from
+    private final AtomicReference<RuleBaseVersion> currentRuleBase = new AtomicReference<>();
+    private final AtomicLong versionSequence = new AtomicLong();
+    private final AtomicInteger retiringVersions = new AtomicInteger();
     private FileWatcher fileWatcher;
-    // Single path - your file location
-    private final String DECISION_TABLE_PATH = "src/main/resources/dtables/drools_decisiontable.drl.xlsx";
+    private final String DECISION_TABLE_RESOURCE = "dtables/drools_decisiontable.drl.xlsx";
+    // Present only in jars built with the executable-model profile
+    private final String KMODULE_RESOURCE = "META-INF/kmodule.xml";
+    private final String PREBUILT_KBASE_NAME = "decisionTableKBase";
+    // Fact types imported by the decision table, part of the KieBase cache key
+    private static final Class<?>[] RULE_FACT_CLASSES = {
+            Employee.class, Shift_Date.class, Sort.class, Sort.SortType.class, Sort.SortBy.class,
+            EligibleEmployees.class, AssignableShifts.class, ShiftAssignments.class, ShiftAssignment.class,
+            AutoAssignmentContext.class, ShiftEnrollment.class, AssignmentLog.class
+    };
+    private KieBaseCache kieBaseCache;
+    private DecisionTableCompiler decisionTableCompiler;
+    // Shared by the session pools of all versions, so a reload keeps the statistics
+    private RuleProfiler ruleProfiler;
+
+    // Hot reload metrics
+    private final AtomicLong reloadCount = new AtomicLong();
+    private final AtomicLong failedReloadCount = new AtomicLong();
+    private final AtomicLong totalReloadNanos = new AtomicLong();
+    private final AtomicLong maxReloadNanos = new AtomicLong();
+    private volatile long lastReloadNanos;
+    private volatile String lastReloadError;
+
+    // Read and watched on the file system; the classpath copy is the fallback
+    @Value("${drools.decision-table.path:src/main/resources/dtables/drools_decisiontable.drl.xlsx}")
+    private String decisionTablePath;
+
+    @Value("${drools.session-pool.max-size:4}")
+    private int sessionPoolMaxSize;
+
+    @Value("${drools.session-pool.borrow-timeout-ms:30000}")
+    private long sessionPoolBorrowTimeoutMillis;
+
+    @Value("${drools.kiebase-cache.enabled:true}")
+    private boolean kieBaseCacheEnabled;
+
+    @Value("${drools.kiebase-cache.dir:.kiebase-cache}")
+    private String kieBaseCacheDir;
+
+    @Value("${drools.prebuilt-model.enabled:true}")
+    private boolean prebuiltModelEnabled;
+
+    // Quiet period after the last write event before the table is reloaded
+    @Value("${drools.hot-reload.debounce-ms:500}")
+    private long hotReloadDebounceMillis;
+
+    // Adds agenda listeners to every session; off, sessions have none
+    @Value("${drools.rule-profiler.enabled:false}")
+    private boolean ruleProfilerEnabled;
 
     @PostConstruct
     public void init() {
-        loadDecisionTable();
+        if (ruleProfilerEnabled) {
+            ruleProfiler = new RuleProfiler();
+        }
+        decisionTableCompiler = new DecisionTableCompiler("src/main/resources/" + DECISION_TABLE_RESOURCE,
+                getClass().getClassLoader());
+        if (kieBaseCacheEnabled) {
+            kieBaseCache = new KieBaseCache(new File(kieBaseCacheDir), getClass().getClassLoader());
+        }
+        publish(buildRuleBase(prebuiltModelEnabled));
         setupFileWatcher();
     }
 
-    private void loadDecisionTable() {
+    /**
+     * Builds and validates the new rule base while the current one keeps
+     * serving requests, then swaps it in. A table that fails to build leaves
+     * the current version active.
+     */
+    private synchronized void reloadDecisionTable() {
+        RuleBaseReloadEvent event = new RuleBaseReloadEvent();
+        event.begin();
+        long reloadStart = System.nanoTime();
+        RuleBaseVersion next;
         try {
-            KieServices kieServices = KieServices.Factory.get();
-            Resource dt = getDecisionTableResource();
-
-            KieFileSystem kieFileSystem = kieServices.newKieFileSystem().write(dt);
-            KieBuilder kieBuilder = kieServices.newKieBuilder(kieFileSystem);
-            kieBuilder.buildAll();
-
-            if (kieBuilder.getResults().hasMessages(org.kie.api.builder.Message.Level.ERROR)) {
-                System.err.println("Errors building decision table: " + kieBuilder.getResults().toString());
-                throw new RuntimeException("Failed to build decision table: " + kieBuilder.getResults().toString());
-            }
+            // A replaced table never matches the prebuilt model
+            next = buildRuleBase(false);
+        } catch (RuntimeException e) {
+            failedReloadCount.incrementAndGet();
+            lastReloadError = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+            event.error = lastReloadError;
+            event.commit();
+            throw e;
+        }
+        publish(next);
+        event.version = next.getVersion();
+        event.source = next.getSource();
+        event.commit();
 
-            KieRepository kieRepository = kieServices.getRepository();
-            ReleaseId krDefaultReleaseId = kieRepository.getDefaultReleaseId();
+        long reloadNanos = System.nanoTime() - reloadStart;
+        reloadCount.incrementAndGet();
+        totalReloadNanos.addAndGet(reloadNanos);
+        maxReloadNanos.accumulateAndGet(reloadNanos, Math::max);
+        lastReloadNanos = reloadNanos;
+        lastReloadError = null;
+    }
 
-            if (kieSession != null) {
-                kieSession.dispose();
-            }
-            if (kieContainer != null) {
-                kieContainer.dispose();
-            }
+    private void publish(RuleBaseVersion next) {
+        RuleBaseVersion previous = currentRuleBase.getAndSet(next);
+        if (previous != null) {
+            retiringVersions.incrementAndGet();
+            previous.retire(retiringVersions::decrementAndGet);
+        }
+        logger.info("Rule base version {} is now active", next.getVersion());
+    }
 
-            kieContainer = kieServices.newKieContainer(krDefaultReleaseId);
+    private RuleBaseVersion buildRuleBase(boolean usePrebuiltModel) {
+        try {
+            long loadStart = System.nanoTime();
+            KieServices kieServices = KieServices.Factory.get();
+            byte[] decisionTable = readDecisionTable();
 
             // Configure KieBase to use equality mode instead of identity mode
             KieBaseConfiguration kieBaseConfiguration = kieServices.newKieBaseConfiguration();
             kieBaseConfiguration.setOption(EqualityBehaviorOption.EQUALITY);
 
-            KieBase kieBase = kieContainer.newKieBase(kieBaseConfiguration);
-            kieSession = kieBase.newKieSession();
+            // Rules compiled at build time, only valid for the table they were built from
+            KieContainer prebuiltContainer = usePrebuiltModel ? loadPrebuiltContainer(kieServices, decisionTable) : null;
+
+            // Reuse the compiled rule base when the decision table is unchanged
+            String cacheKey = null;
+            KieBase cachedKieBase = null;
+            if (prebuiltContainer == null && kieBaseCache != null) {
+                cacheKey = kieBaseCache.computeKey(decisionTable, RULE_FACT_CLASSES);
+                cachedKieBase = kieBaseCache.load(cacheKey, kieBaseConfiguration);
+                if (cachedKieBase != null) {
+                    // Without stored groups the first reload compiles all of them
+                    Map<String, byte[]> compiledGroups = kieBaseCache.loadCompiledGroups(cacheKey);
+                    if (compiledGroups != null) {
+                        decisionTableCompiler.restoreCompiledGroups(compiledGroups);
+                    }
+                }
+            }
+
+            KieContainer kieContainer = null;
+            KieBase kieBase = cachedKieBase;
+            String source = "loaded from cache";
+            if (prebuiltContainer != null) {
+                kieContainer = prebuiltContainer;
+                kieBase = kieContainer.getKieBase(PREBUILT_KBASE_NAME);
+                source = "prebuilt executable model";
+            } else if (kieBase == null) {
+                // Only RuleTables whose generated DRL changed since the last build are recompiled
+                kieBase = decisionTableCompiler.compile(decisionTable, kieBaseConfiguration);
+                source = String.format("compiled %d of %d rule groups %s",
+                        decisionTableCompiler.getLastRecompiledGroups().size(),
+                        decisionTableCompiler.getLastGroupCount(), decisionTableCompiler.getLastRecompiledGroups());
+                if (cacheKey != null) {
+                    try {
+                        kieBaseCache.store(cacheKey, kieBase, decisionTableCompiler.getCompiledGroups());
+                    } catch (IOException e) {
+                        logger.warn("Failed to write KieBase cache: {}", e.getMessage());
+                    }
+                }
+            }
+            try {
+                validate(kieBase);
+            } catch (RuntimeException e) {
+                if (kieContainer != null) {
+                    kieContainer.dispose();
+                }
+                throw e;
+            }
+
+            KieSessionPool sessionPool = new KieSessionPool(kieBase, sessionPoolMaxSize,
+                    sessionPoolBorrowTimeoutMillis, ruleProfiler);
+            long loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loadStart);
 
-            System.out.println("Drools KieSession initialized/reloaded successfully with EQUALITY mode");
+            logger.info("Drools KieBase initialized/reloaded successfully with EQUALITY mode ({} in {} ms, session pool size {})",
+                    source, loadMillis, sessionPoolMaxSize);
+            return new RuleBaseVersion(versionSequence.incrementAndGet(), kieBase, kieContainer, sessionPool,
+                    source, loadMillis, decisionTable);
         } catch (Exception e) {
-            System.err.println("Failed to initialize Drools KieSession: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Failed to initialize Drools KieSession: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to initialize Drools KieSession", e);
         }
     }
 
-    private Resource getDecisionTableResource() throws IOException {
+    // Reject a rule base that compiled but cannot serve a run
+    private void validate(KieBase kieBase) {
+        int ruleCount = kieBase.getKiePackages().stream()
+                .mapToInt(kiePackage -> kiePackage.getRules().size())
+                .sum();
+        if (ruleCount == 0) {
+            throw new IllegalStateException("Decision table did not produce any rules");
+        }
+        KieSession probe = kieBase.newKieSession();
+        probe.dispose();
+    }
+
+    /**
+     * Returns a container over the rule base generated by the executable-model
+     * build profile, or null when the jar has none or the decision table on
+     * disk is no longer the one it was generated from.
+     */
+    private KieContainer loadPrebuiltContainer(KieServices kieServices, byte[] decisionTable) throws IOException {
+        ClassLoader classLoader = getClass().getClassLoader();
+        if (classLoader.getResource(KMODULE_RESOURCE) == null) {
+            return null;
+        }
+
+        byte[] embeddedTable;
+        try (InputStream in = classLoader.getResourceAsStream(DECISION_TABLE_RESOURCE)) {
+            embeddedTable = in != null ? in.readAllBytes() : null;
+        }
+        if (!Arrays.equals(decisionTable, embeddedTable)) {
+            logger.info("Decision table differs from the prebuilt model, compiling at runtime");
+            return null;
+        }
+
+        try {
+            return kieServices.newKieClasspathContainer(classLoader);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to load prebuilt model, compiling at runtime: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] readDecisionTable() throws IOException {
         // Try file system first (for development and hot reload)
-        File decisionTableFile = new File(DECISION_TABLE_PATH);
+        File decisionTableFile = new File(decisionTablePath);
         if (decisionTableFile.exists()) {
-            FileInputStream fis = new FileInputStream(decisionTableFile);
-            Resource dt = ResourceFactory.newInputStreamResource(fis);
-            dt.setTargetPath("src/main/resources/dtables/drools_decisiontable.drl.xlsx");
-            System.out.println("Loading from file system: " + decisionTableFile.getAbsolutePath());
-            return dt;
+            logger.info("Loading from file system: {}", decisionTableFile.getAbsolutePath());
+            return Files.readAllBytes(decisionTableFile.toPath());
         }
 
         // Fallback to classpath (embedded in JAR)
-        System.out.println("Loading from classpath (JAR embedded)");
-        return ResourceFactory.newClassPathResource("dtables/drools_decisiontable.drl.xlsx", getClass());
+        logger.info("Loading from classpath (JAR embedded)");
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(DECISION_TABLE_RESOURCE)) {
+            if (in == null) {
+                throw new FileNotFoundException("Decision table not found on classpath: " + DECISION_TABLE_RESOURCE);
+            }
+            return in.readAllBytes();
+        }
     }
 
     private void setupFileWatcher() {
         // Watch your decision table file for changes
-        File fileToWatch = new File(DECISION_TABLE_PATH);
+        File fileToWatch = new File(decisionTablePath);
 
         if (fileToWatch.exists()) {
-            System.out.println("Setting up hot reload for: " + fileToWatch.getAbsolutePath());
+            logger.info("Setting up hot reload for: {}", fileToWatch.getAbsolutePath());
 
-            fileWatcher = new FileWatcher(fileToWatch, () -> {
+            fileWatcher = new FileWatcher(fileToWatch, hotReloadDebounceMillis, () -> {
                 try {
-                    System.out.println("Excel file replaced, hot reloading decision table...");
-                    loadDecisionTable();
-                    System.out.println("Hot reload completed! New rules are now active.");
+                    logger.info("Excel file replaced, hot reloading decision table...");
+                    reloadDecisionTable();
+                    logger.info("Hot reload completed! New rules are now active.");
                 } catch (Exception e) {
-                    System.err.println("Hot reload failed: " + e.getMessage());
-                    e.printStackTrace();
+                    logger.error("Hot reload failed, keeping the current rules: {}", e.getMessage(), e);
                 }
             });
             fileWatcher.start();
         } else {
-            System.out.println("No decision table file found for hot reload. Using embedded JAR version.");
-            System.out.println("   Expected file: " + DECISION_TABLE_PATH);
+            logger.info("No decision table file found for hot reload, using the embedded JAR version (expected file: {})",
+                    decisionTablePath);
+        }
+    }
+
+    /**
+     * Borrow a clean session from the pool; close the lease once the run is
+     * finished to give the session back.
+     */
+    public KieSessionPool.Lease borrowKieSession() {
+        while (true) {
+            KieSessionPool.Lease lease = getCurrentRuleBase().getSessionPool().tryBorrowSession();
+            if (lease != null) {
+                return lease;
+            }
+            // The rule base was swapped while waiting, retry on the new version
         }
     }
 
-    public KieSession getKieSession() {
-        return kieSession;
+    private RuleBaseVersion getCurrentRuleBase() {
+        RuleBaseVersion ruleBase = currentRuleBase.get();
+        if (ruleBase == null) {
+            throw new IllegalStateException("KieBase is not initialized");
+        }
+        return ruleBase;
     }
 
-    public String getDrlRules() {
-        if (kieSession == null) {
-            throw new IllegalStateException("KieSession is not initialized");
+    /**
+     * Thresholds of the active decision table for the fast-path engine, or
+     * null when the table has rules the fast path does not mirror.
+     */
+    public AssignmentThresholds getAssignmentThresholds() {
+        return getCurrentRuleBase().getAssignmentThresholds(decisionTableCompiler::toDrl);
+    }
+
+    public KieSessionPoolStats getSessionPoolStats() {
+        return getCurrentRuleBase().getSessionPool().getStats();
+    }
+
+    public RuleBaseStats getRuleBaseStats() {
+        RuleBaseVersion ruleBase = getCurrentRuleBase();
+        RuleBaseStats stats = new RuleBaseStats();
+        stats.setVersion(ruleBase.getVersion());
+        stats.setSource(ruleBase.getSource());
+        stats.setLoadedAt(ruleBase.getLoadedAt());
+        stats.setLoadMillis(ruleBase.getLoadMillis());
+        stats.setRetiringVersions(retiringVersions.get());
+        long reloads = reloadCount.get();
+        stats.setReloads(reloads);
+        stats.setFailedReloads(failedReloadCount.get());
+        stats.setLastReloadMillis(TimeUnit.NANOSECONDS.toMillis(lastReloadNanos));
+        stats.setAverageReloadMillis(reloads > 0
+                ? TimeUnit.NANOSECONDS.toMicros(totalReloadNanos.get()) / 1000.0 / reloads
+                : 0.0);
+        stats.setMaxReloadMillis(TimeUnit.NANOSECONDS.toMillis(maxReloadNanos.get()));
+        stats.setLastReloadError(lastReloadError);
+        return stats;
+    }
+
+    // Empty and not enabled when drools.rule-profiler.enabled is off
+    public RuleProfile getRuleProfile() {
+        return ruleProfiler != null ? ruleProfiler.getProfile() : new RuleProfile();
+    }
+
+    public void resetRuleProfile() {
+        if (ruleProfiler != null) {
+            ruleProfiler.reset();
         }
+    }
+
+    public String getDrlRules() {
+        getCurrentRuleBase();
 
         try {
-            Resource dt = getDecisionTableResource();
-
-            DecisionTableProviderImpl decisionTableProvider = new DecisionTableProviderImpl();
-            DecisionTableConfiguration dtConfig = KnowledgeBuilderFactory.newDecisionTableConfiguration();
-            dtConfig.setInputType(DecisionTableInputType.XLSX);
-            String drl = decisionTableProvider.loadFromResource(dt, dtConfig);
-            System.out.println("=== CONVERTED DRL RULES FROM DECISION TABLE ===");
-            System.out.println(drl);
-            System.out.println("=== END OF DRL RULES ===");
+            String drl = decisionTableCompiler.toDrl(readDecisionTable());
+            logger.debug("Converted decision table to {} characters of DRL", drl.length());
             return drl;
         } catch (IOException e) {
             throw new RuntimeException("Failed to load decision table for DRL conversion", e);
@@ -150,11 +395,9 @@ public class DroolsService {
         if (fileWatcher != null) {
             fileWatcher.stop();
         }
-        if (kieSession != null) {
-            kieSession.dispose();
-        }
-        if (kieContainer != null) {
-            kieContainer.dispose();
+        RuleBaseVersion ruleBase = currentRuleBase.getAndSet(null);
+        if (ruleBase != null) {
+            ruleBase.retire(null);
         }
     }
 }
\ No newline at end of file
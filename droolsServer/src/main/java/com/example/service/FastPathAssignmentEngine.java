@@ -0,0 +1,319 @@
+package com.example.service;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftAssignmentId;
+import com.example.model.ShiftDateId;
+import com.example.model.ShiftEnrollment;
+import com.example.model.ShiftEnrollmentId;
+import com.example.model.Shift_Date;
+import com.example.util.AssignmentThresholds;
+import com.example.util.DayShiftCounters;
+import com.example.util.Sort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plain Java version of the decision table flow in AutoAssignmentService.
+ * Each agenda group is evaluated directly to the state Drools reaches after
+ * fireAllRules, using hash lookups instead of pattern matching. Loaded
+ * entities are only read: counters and flags live in the run's own state.
+ */
+@Service
+public class FastPathAssignmentEngine {
+    private static final Logger logger = LoggerFactory.getLogger(FastPathAssignmentEngine.class);
+    private static final int MAX_ITERATIONS = 300;
+
+    public List<ShiftAssignment> assign(List<Employee> employees, List<Shift_Date> shiftDates,
+            List<ShiftEnrollment> enrollments, List<ShiftAssignment> existingAssignments, Sort sort,
+            AssignmentThresholds thresholds) {
+        Run run = new Run(employees, shiftDates, enrollments, existingAssignments, thresholds);
+        Comparator<EmployeeState> order = thresholds.sortsBy(sort) ? comparator(sort) : null;
+
+        run.assignEnrollments(order);
+        run.assignRemainingShifts(order);
+        logger.debug("Fast path created {} assignments", run.assignments.size());
+        return run.assignments;
+    }
+
+    // Same order as EligibleEmployees.sortEmployees, on the run's week counts
+    private Comparator<EmployeeState> comparator(Sort sort) {
+        return (e1, e2) -> {
+            int comparison = 0;
+            switch (sort.getSortBy()) {
+                case PRIORITY:
+                    comparison = Integer.compare(e1.employee.getPriorityScore(), e2.employee.getPriorityScore());
+                    break;
+                case ASSIGNEDSHIFTINWEEK:
+                    comparison = Integer.compare(e1.assignedShiftInWeek, e2.assignedShiftInWeek);
+                    break;
+            }
+
+            if (comparison == 0) {
+                return Integer.compare(e1.employee.getEmployeeId(), e2.employee.getEmployeeId());
+            }
+            return sort.getSortType() == Sort.SortType.ASCENDING ? comparison : -comparison;
+        };
+    }
+
+    private static class EmployeeState {
+        final Employee employee;
+        final DayShiftCounters assignedShiftInDay;
+        int assignedShiftInWeek;
+        boolean eligible;
+
+        EmployeeState(Employee employee) {
+            this.employee = employee;
+            this.assignedShiftInDay = employee.copyAssignedShiftInDay();
+            this.assignedShiftInWeek = employee.getAssignedShiftInWeek();
+        }
+
+        int getAssignedShiftInDay(Shift_Date shift) {
+            return assignedShiftInDay.get(shift.getShiftDate());
+        }
+    }
+
+    private static class ShiftState {
+        final Shift_Date shift;
+        final ShiftDateId id;
+        int assignedEmployees;
+        boolean assignable;
+
+        ShiftState(Shift_Date shift) {
+            this.shift = shift;
+            this.id = new ShiftDateId(shift.getShiftId(), shift.getShiftDate());
+            this.assignedEmployees = shift.getAssignedEmployees();
+        }
+    }
+
+    private static class Run {
+        final AssignmentThresholds thresholds;
+        final List<EmployeeState> employees = new ArrayList<>();
+        final List<ShiftState> shifts = new ArrayList<>();
+        // Open enrollments, with counts per shift and the keys per employee
+        final Set<ShiftEnrollmentId> enrollments = new HashSet<>();
+        final Map<ShiftDateId, Integer> enrollmentsByShift = new HashMap<>();
+        final Map<Integer, List<ShiftEnrollmentId>> enrollmentsByEmployee = new HashMap<>();
+        final Set<ShiftAssignmentId> assigned = new HashSet<>();
+        final List<ShiftAssignment> assignments = new ArrayList<>();
+
+        Run(List<Employee> employees, List<Shift_Date> shiftDates, List<ShiftEnrollment> enrollments,
+                List<ShiftAssignment> existingAssignments, AssignmentThresholds thresholds) {
+            this.thresholds = thresholds;
+            for (Employee employee : employees) {
+                this.employees.add(new EmployeeState(employee));
+            }
+            for (Shift_Date shiftDate : shiftDates) {
+                shifts.add(new ShiftState(shiftDate));
+            }
+            for (ShiftEnrollment enrollment : enrollments) {
+                ShiftEnrollmentId id = new ShiftEnrollmentId(enrollment.getEmployeeId(), enrollment.getShiftId(),
+                        enrollment.getShiftDate());
+                if (this.enrollments.add(id)) {
+                    enrollmentsByShift.merge(new ShiftDateId(id.getShiftId(), id.getShiftDate()), 1, Integer::sum);
+                    enrollmentsByEmployee.computeIfAbsent(id.getEmployeeId(), key -> new ArrayList<>()).add(id);
+                }
+            }
+            for (ShiftAssignment assignment : existingAssignments) {
+                assigned.add(new ShiftAssignmentId(assignment.getEmployeeId(), assignment.getShiftId(),
+                        assignment.getShiftDate()));
+            }
+        }
+
+        // executeEnrollmentBasedAssignment
+        void assignEnrollments(Comparator<EmployeeState> order) {
+            while (!enrollments.isEmpty()) {
+                List<ShiftState> assignableShifts = fireShiftRules(true);
+                if (assignableShifts.isEmpty() || enrollments.isEmpty()) {
+                    break;
+                }
+
+                Candidate candidate = findCandidate(assignableShifts, true);
+                if (candidate == null) {
+                    break;
+                }
+
+                EmployeeState chosen = choose(candidate.eligible, order);
+                assign(candidate.shift, chosen, "approved");
+                removeEnrollment(new ShiftEnrollmentId(chosen.employee.getEmployeeId(),
+                        candidate.shift.shift.getShiftId(), candidate.shift.shift.getShiftDate()));
+            }
+        }
+
+        // executeRemainingShiftAssignment
+        void assignRemainingShifts(Comparator<EmployeeState> order) {
+            int iterationCount = 0;
+            int lastAssignmentCount = 0;
+            while (true) {
+                iterationCount++;
+                if (iterationCount > MAX_ITERATIONS) {
+                    logger.error("Reached maximum iterations ({}) in fast path remaining assignment",
+                            MAX_ITERATIONS);
+                    break;
+                }
+                if (assignments.size() == lastAssignmentCount && iterationCount > 10) {
+                    break;
+                }
+                lastAssignmentCount = assignments.size();
+
+                List<ShiftState> assignableShifts = fireShiftRules(false);
+                if (assignableShifts.isEmpty()) {
+                    break;
+                }
+
+                Candidate candidate = findCandidate(assignableShifts, false);
+                if (candidate == null) {
+                    break;
+                }
+
+                assign(candidate.shift, choose(candidate.eligible, order), "pending");
+            }
+        }
+
+        /**
+         * EnrollmentShiftRule or ShiftRule followed by the assignable shift
+         * update: a shift under capacity is assignable (with an open
+         * enrollment in the enrollment phase), a full shift that was
+         * assignable becomes deletable and leaves the run.
+         */
+        List<ShiftState> fireShiftRules(boolean enrollmentPhase) {
+            List<ShiftState> assignableShifts = new ArrayList<>();
+            List<ShiftState> deletable = new ArrayList<>();
+            for (ShiftState state : shifts) {
+                if (state.assignedEmployees < thresholds.getMaxEmployeesPerShift()) {
+                    state.assignable = !enrollmentPhase || enrollmentsByShift.getOrDefault(state.id, 0) > 0;
+                    if (state.assignable) {
+                        assignableShifts.add(state);
+                    }
+                } else if (state.assignable) {
+                    state.assignable = false;
+                    deletable.add(state);
+                }
+            }
+
+            for (ShiftState state : deletable) {
+                shifts.remove(state);
+                if (enrollmentPhase) {
+                    removeShiftEnrollments(state);
+                }
+            }
+            return assignableShifts;
+        }
+
+        // Walks the assignable shifts until one has eligible employees
+        Candidate findCandidate(List<ShiftState> assignableShifts, boolean enrollmentPhase) {
+            for (ShiftState shift : assignableShifts) {
+                List<EmployeeState> eligible = fireEmployeeRules(shift, enrollmentPhase);
+                if (!eligible.isEmpty()) {
+                    return new Candidate(shift, eligible);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * EnrollmentEmployeeRule or EmployeeRule for the current shift followed
+         * by the eligible employee update. An employee that was eligible and
+         * reached the weekly limit becomes deletable and leaves the run.
+         */
+        List<EmployeeState> fireEmployeeRules(ShiftState current, boolean enrollmentPhase) {
+            Shift_Date shift = current.shift;
+            List<EmployeeState> eligible = new ArrayList<>();
+            List<EmployeeState> deletable = new ArrayList<>();
+            for (EmployeeState state : employees) {
+                if (state.getAssignedShiftInDay(shift) >= thresholds.getMaxShiftsPerDay()) {
+                    state.eligible = false;
+                } else if (state.assignedShiftInWeek >= thresholds.getMaxShiftsPerWeek()) {
+                    if (state.eligible) {
+                        state.eligible = false;
+                        deletable.add(state);
+                    }
+                } else {
+                    int employeeId = state.employee.getEmployeeId();
+                    boolean open = !assigned.contains(
+                            new ShiftAssignmentId(employeeId, shift.getShiftId(), shift.getShiftDate()));
+                    if (enrollmentPhase) {
+                        open = open && enrollments.contains(
+                                new ShiftEnrollmentId(employeeId, shift.getShiftId(), shift.getShiftDate()));
+                    }
+                    state.eligible = open;
+                    if (open) {
+                        eligible.add(state);
+                    }
+                }
+            }
+
+            for (EmployeeState state : deletable) {
+                employees.remove(state);
+                if (enrollmentPhase) {
+                    removeEmployeeEnrollments(state);
+                }
+            }
+            return eligible;
+        }
+
+        // EmployeeSortingRule only fires for more than one eligible employee
+        EmployeeState choose(List<EmployeeState> eligible, Comparator<EmployeeState> order) {
+            if (order != null && eligible.size() > 1) {
+                eligible.sort(order);
+            }
+            return eligible.get(0);
+        }
+
+        void assign(ShiftState shift, EmployeeState employee, String assignmentStatus) {
+            shift.assignedEmployees++;
+            employee.assignedShiftInDay.increment(shift.shift.getShiftDate());
+            employee.assignedShiftInWeek++;
+
+            ShiftAssignment assignment = new ShiftAssignment(employee.employee, shift.shift, assignmentStatus);
+            assigned.add(new ShiftAssignmentId(assignment.getEmployeeId(), assignment.getShiftId(),
+                    assignment.getShiftDate()));
+            assignments.add(assignment);
+        }
+
+        void removeEnrollment(ShiftEnrollmentId id) {
+            if (enrollments.remove(id)) {
+                enrollmentsByShift.merge(new ShiftDateId(id.getShiftId(), id.getShiftDate()), -1, Integer::sum);
+            }
+        }
+
+        void removeEmployeeEnrollments(EmployeeState state) {
+            List<ShiftEnrollmentId> ids = enrollmentsByEmployee.remove(state.employee.getEmployeeId());
+            if (ids != null) {
+                ids.forEach(this::removeEnrollment);
+            }
+        }
+
+        void removeShiftEnrollments(ShiftState state) {
+            if (enrollmentsByShift.getOrDefault(state.id, 0) == 0) {
+                return;
+            }
+            enrollments.removeIf(id -> {
+                if (id.getShiftId() == state.id.getShiftId() && id.getShiftDate().equals(state.id.getShiftDate())) {
+                    enrollmentsByShift.merge(state.id, -1, Integer::sum);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+
+    private static class Candidate {
+        final ShiftState shift;
+        final List<EmployeeState> eligible;
+
+        Candidate(ShiftState shift, List<EmployeeState> eligible) {
+            this.shift = shift;
+            this.eligible = eligible;
+        }
+    }
+}
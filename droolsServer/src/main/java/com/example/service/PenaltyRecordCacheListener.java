@@ -0,0 +1,48 @@
+package com.example.service;
+
+import com.example.model.PenaltyRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Drops cached priority scores when penalty records are written through
+ * JPA. Hibernate gets the listener from Spring, so it is autowired. The
+ * entry is dropped at flush and again after commit, so a run that loaded it
+ * in between does not keep the old count.
+ */
+public class PenaltyRecordCacheListener {
+    @Autowired
+    private PenaltyScoreCache penaltyScoreCache;
+
+    @PostPersist
+    @PostRemove
+    public void recordWritten(PenaltyRecord record) {
+        if (record.getEmployeeId() != null) {
+            int employeeId = record.getEmployeeId();
+            afterFlushAndCommit(() -> penaltyScoreCache.invalidate(employeeId));
+        }
+    }
+
+    // The previous employee or month of the record is unknown here
+    @PostUpdate
+    public void recordUpdated(PenaltyRecord record) {
+        afterFlushAndCommit(penaltyScoreCache::invalidateAll);
+    }
+
+    private void afterFlushAndCommit(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+}
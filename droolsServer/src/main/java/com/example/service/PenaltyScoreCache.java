@@ -0,0 +1,166 @@
+package com.example.service;
+
+import com.example.repository.PenaltyRecordRepository;
+import com.example.repository.projection.EmployeePenaltyCount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Late and absence counts and the derived priority score per employee for
+ * one month. Missing employees are loaded with one grouped query. Entries
+ * are dropped when penalty records of the employee are written through JPA
+ * or the cache endpoint is called, and expire after ttl-minutes for writes
+ * made by other applications. A new month starts with an empty cache.
+ */
+@Component
+public class PenaltyScoreCache {
+    private static final String CACHE_NAME = "penaltyScores";
+
+    @Autowired
+    private PenaltyRecordRepository penaltyRecordRepository;
+
+    // 0 keeps entries until they are invalidated or the month ends
+    @Value("${autoassignment.penalty-cache.ttl-minutes:15}")
+    private long ttlMinutes;
+
+    private volatile Month current = new Month(YearMonth.now());
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PenaltyScoreCache(MeterRegistry registry) {
+        hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit")
+                .description("Priority scores served from the cache").register(registry);
+        misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss")
+                .description("Priority scores loaded from penalty records").register(registry);
+        evictions = Counter.builder("cache.evictions").tag("cache", CACHE_NAME)
+                .description("Entries dropped by penalty record writes or expiry").register(registry);
+        Gauge.builder("cache.size", this, cache -> cache.current.entries.size()).tag("cache", CACHE_NAME)
+                .register(registry);
+    }
+
+    /**
+     * Priority scores of the employees for the month, loading the ones not
+     * cached with one query. Employees without penalty records get 100.
+     */
+    public Map<Integer, Integer> getPriorityScores(List<Integer> employeeIds, YearMonth yearMonth) {
+        Month month = month(yearMonth);
+        long now = System.nanoTime();
+        long ttlNanos = TimeUnit.MINUTES.toNanos(ttlMinutes);
+        Map<Integer, Integer> scores = new HashMap<>(employeeIds.size() * 2);
+        List<Integer> missing = new ArrayList<>();
+        for (Integer employeeId : employeeIds) {
+            PenaltyScore score = month.entries.get(employeeId);
+            if (score != null && ttlNanos > 0 && now - score.loadedAtNanos > ttlNanos) {
+                month.entries.remove(employeeId, score);
+                evictions.increment();
+                score = null;
+            }
+            if (score != null) {
+                scores.put(employeeId, score.priorityScore);
+            } else {
+                missing.add(employeeId);
+            }
+        }
+        hits.increment(scores.size());
+        misses.increment(missing.size());
+        if (missing.isEmpty()) {
+            return scores;
+        }
+
+        // Read the generation first, so an invalidation during the query wins
+        long generation = month.generation;
+        Map<Integer, PenaltyScore> loaded = new HashMap<>(missing.size() * 2);
+        for (Integer employeeId : missing) {
+            loaded.put(employeeId, new PenaltyScore(0, 0, now));
+        }
+        for (EmployeePenaltyCount count : penaltyRecordRepository.countLateAndAbsenceByEmployeeIdsAndCurrentMonth(
+                missing, yearMonth.getYear(), yearMonth.getMonthValue())) {
+            loaded.put(count.getEmployeeId(), new PenaltyScore(count.getLateCount(), count.getAbsenceCount(), now));
+        }
+        for (Map.Entry<Integer, PenaltyScore> entry : loaded.entrySet()) {
+            scores.put(entry.getKey(), entry.getValue().priorityScore);
+        }
+        month.putAll(loaded, generation);
+        return scores;
+    }
+
+    // A penalty record of the employee was written
+    public void invalidate(int employeeId) {
+        Month month = current;
+        synchronized (month) {
+            month.generation++;
+            if (month.entries.remove(employeeId) != null) {
+                evictions.increment();
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        Month month = current;
+        synchronized (month) {
+            month.generation++;
+            evictions.increment(month.entries.size());
+            month.entries.clear();
+        }
+    }
+
+    private Month month(YearMonth yearMonth) {
+        Month month = current;
+        if (month.yearMonth.equals(yearMonth)) {
+            return month;
+        }
+        // Other months are rare what-if runs; only the current one is kept
+        Month next = new Month(yearMonth);
+        if (yearMonth.equals(YearMonth.now())) {
+            current = next;
+        }
+        return next;
+    }
+
+    // Priority score: 100 - (lateCount + absenceCount * 3)
+    static int calculatePriorityScore(long lateCount, long absenceCount) {
+        int penaltyDeduction = (int) (lateCount + absenceCount * 3);
+        return Math.max(0, 100 - penaltyDeduction);
+    }
+
+    private static class PenaltyScore {
+        final int priorityScore;
+        final long loadedAtNanos;
+
+        PenaltyScore(long lateCount, long absenceCount, long loadedAtNanos) {
+            this.priorityScore = calculatePriorityScore(lateCount, absenceCount);
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+
+    private static class Month {
+        final YearMonth yearMonth;
+        final Map<Integer, PenaltyScore> entries = new ConcurrentHashMap<>();
+        // Bumped under the monitor by every invalidation
+        volatile long generation;
+
+        Month(YearMonth yearMonth) {
+            this.yearMonth = yearMonth;
+        }
+
+        // Loads that overlapped an invalidation are not stored
+        synchronized void putAll(Map<Integer, PenaltyScore> loaded, long loadGeneration) {
+            if (generation == loadGeneration) {
+                entries.putAll(loaded);
+            }
+        }
+    }
+}
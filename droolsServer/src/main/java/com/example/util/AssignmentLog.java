@@ -0,0 +1,51 @@
+package com.example.util;
+
+import org.slf4j.Logger;
+
+/**
+ * Debug tracing of one assignment run. Messages are only formatted when the
+ * logger is at debug level or the request turned debug output on, in which
+ * case they are written at info level so the global level can stay higher.
+ * Callers guard loops and costly arguments with isEnabled.
+ */
+public class AssignmentLog {
+    private final Logger logger;
+    private final boolean forced;
+
+    public AssignmentLog(Logger logger, boolean forced) {
+        this.logger = logger;
+        this.forced = forced;
+    }
+
+    public boolean isEnabled() {
+        return forced || logger.isDebugEnabled();
+    }
+
+    public boolean isForced() {
+        return forced;
+    }
+
+    public void debug(String message) {
+        if (forced) {
+            logger.info(message);
+        } else {
+            logger.debug(message);
+        }
+    }
+
+    public void debug(String format, Object arg) {
+        if (forced) {
+            logger.info(format, arg);
+        } else {
+            logger.debug(format, arg);
+        }
+    }
+
+    public void debug(String format, Object arg1, Object arg2) {
+        if (forced) {
+            logger.info(format, arg1, arg2);
+        } else {
+            logger.debug(format, arg1, arg2);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Limits and sort rules read from the decision table for the fast-path
+ * engine. Only tables with the known rule layout are accepted: any other
+ * change than the threshold values and sort options makes
+ * {@link #fromDrl(String)} return null so assignments stay on Drools.
+ */
+public class AssignmentThresholds {
+    private static final Logger logger = LoggerFactory.getLogger(AssignmentThresholds.class);
+    private static final Pattern RULE_PATTERN = Pattern.compile("(?ms)^rule\\s+\"([^\"]*)\"(.*?)^end\\s*$");
+    private static final Pattern SALIENCE_PATTERN = Pattern.compile("salience\\s+(-?\\d+)");
+    private static final Pattern AGENDA_GROUP_PATTERN = Pattern.compile("agenda-group\\s+\"([^\"]*)\"");
+    private static final Pattern THRESHOLD_PATTERN = Pattern.compile(
+            "(assignedEmployees|getAssignedShiftInDay\\(\\$CSD\\.getShiftDate\\(\\)\\)|assignedShiftInWeek)\\s*(<|>=)\\s*(\\d+)");
+    private static final Pattern SORT_PATTERN = Pattern.compile(
+            "sortEnabled\\s*==\\s*true\\s*,\\s*sortBy\\s*==\\s*SortBy\\.(\\w+)\\s*,\\s*sortType\\s*==\\s*SortType\\.(\\w+)");
+
+    private static final String SHIFT = "assignedEmployees";
+    private static final String DAY = "getAssignedShiftInDay($CSD.getShiftDate())";
+    private static final String WEEK = "assignedShiftInWeek";
+
+    // Rule name -> agenda group and thresholds it compares, in salience order per group
+    private static final Map<String, String[]> EXPECTED_RULES = new LinkedHashMap<>();
+    static {
+        EXPECTED_RULES.put("FirstRuleEnrollmentShift", new String[] { "EnrollmentShiftRule", SHIFT + "<" });
+        EXPECTED_RULES.put("SecondRuleEnrollmentShift", new String[] { "EnrollmentShiftRule", SHIFT + "<" });
+        EXPECTED_RULES.put("ThirdRuleEnrollmentShift", new String[] { "EnrollmentShiftRule", SHIFT + ">=" });
+        EXPECTED_RULES.put("FirstRuleShift", new String[] { "ShiftRule", SHIFT + "<" });
+        EXPECTED_RULES.put("SecondRuleShift", new String[] { "ShiftRule", SHIFT + ">=" });
+        EXPECTED_RULES.put("FirstRuleEnrollmentEmployee", new String[] { "EnrollmentEmployeeRule", DAY + "<", WEEK + "<" });
+        EXPECTED_RULES.put("SecondRuleEnrollmentEmployee", new String[] { "EnrollmentEmployeeRule", DAY + "<", WEEK + "<" });
+        EXPECTED_RULES.put("ThirdRuleEnrollmentEmployee", new String[] { "EnrollmentEmployeeRule", DAY + "<", WEEK + "<" });
+        EXPECTED_RULES.put("FourthRuleEnrollmentEmployee", new String[] { "EnrollmentEmployeeRule", DAY + ">=" });
+        EXPECTED_RULES.put("FifthRuleEnrollmentEmployee", new String[] { "EnrollmentEmployeeRule", WEEK + ">=" });
+        EXPECTED_RULES.put("FirstRuleEmployee", new String[] { "EmployeeRule", DAY + "<", WEEK + "<" });
+        EXPECTED_RULES.put("SecondRuleEmployee", new String[] { "EmployeeRule", DAY + "<", WEEK + "<" });
+        EXPECTED_RULES.put("ThirdRuleEmployee", new String[] { "EmployeeRule", DAY + ">=" });
+        EXPECTED_RULES.put("FourthRuleEmployee", new String[] { "EmployeeRule", WEEK + ">=" });
+        EXPECTED_RULES.put("FirstRuleSortingEmployee", new String[] { "EmployeeSortingRule" });
+        EXPECTED_RULES.put("SecondRuleSortingEmployee", new String[] { "EmployeeSortingRule" });
+    }
+
+    private final int maxEmployeesPerShift;
+    private final int maxShiftsPerDay;
+    private final int maxShiftsPerWeek;
+    private final Set<String> sortRules;
+
+    public AssignmentThresholds(int maxEmployeesPerShift, int maxShiftsPerDay, int maxShiftsPerWeek,
+            Set<String> sortRules) {
+        this.maxEmployeesPerShift = maxEmployeesPerShift;
+        this.maxShiftsPerDay = maxShiftsPerDay;
+        this.maxShiftsPerWeek = maxShiftsPerWeek;
+        this.sortRules = sortRules;
+    }
+
+    /**
+     * Reads the thresholds from the DRL generated from the decision table, or
+     * returns null when the rules are not the layout the fast path mirrors.
+     */
+    public static AssignmentThresholds fromDrl(String drl) {
+        Map<String, String> ruleBodies = new HashMap<>();
+        Matcher rule = RULE_PATTERN.matcher(drl);
+        while (rule.find()) {
+            ruleBodies.put(rule.group(1), rule.group(2));
+        }
+        if (!ruleBodies.keySet().equals(EXPECTED_RULES.keySet())) {
+            logger.info("Fast path disabled: decision table rules changed {}", ruleBodies.keySet());
+            return null;
+        }
+
+        Map<String, Integer> limits = new HashMap<>();
+        Set<String> sortRules = new HashSet<>();
+        Map<String, Integer> lastSalienceByGroup = new HashMap<>();
+        for (Map.Entry<String, String[]> expected : EXPECTED_RULES.entrySet()) {
+            String name = expected.getKey();
+            String body = ruleBodies.get(name);
+            String group = expected.getValue()[0];
+
+            Matcher agendaGroup = AGENDA_GROUP_PATTERN.matcher(body);
+            Matcher salience = SALIENCE_PATTERN.matcher(body);
+            if (!agendaGroup.find() || !group.equals(agendaGroup.group(1)) || !salience.find()) {
+                logger.info("Fast path disabled: unexpected agenda group or salience in {}", name);
+                return null;
+            }
+            // Rules of a group must keep their relative order
+            int ruleSalience = Integer.parseInt(salience.group(1));
+            Integer previous = lastSalienceByGroup.put(group, ruleSalience);
+            if (previous != null && previous <= ruleSalience) {
+                logger.info("Fast path disabled: rule order changed at {}", name);
+                return null;
+            }
+
+            List<String> comparisons = new ArrayList<>();
+            Matcher threshold = THRESHOLD_PATTERN.matcher(body);
+            while (threshold.find()) {
+                comparisons.add(threshold.group(1) + threshold.group(2));
+                Integer value = Integer.valueOf(threshold.group(3));
+                Integer known = limits.putIfAbsent(threshold.group(1), value);
+                if (known != null && !known.equals(value)) {
+                    logger.info("Fast path disabled: {} limit differs between rules", threshold.group(1));
+                    return null;
+                }
+            }
+            List<String> expectedComparisons = Arrays.asList(expected.getValue()).subList(1, expected.getValue().length);
+            if (!comparisons.equals(expectedComparisons)) {
+                logger.info("Fast path disabled: unexpected conditions in {} {}", name, comparisons);
+                return null;
+            }
+
+            if (group.equals("EmployeeSortingRule")) {
+                Matcher sort = SORT_PATTERN.matcher(body);
+                if (!sort.find() || !body.contains("EligibleEmployees(getSize() > 1)")
+                        || !body.contains("sortEmployees($s)")) {
+                    logger.info("Fast path disabled: unexpected sorting rule {}", name);
+                    return null;
+                }
+                sortRules.add(sort.group(1) + ":" + sort.group(2));
+            }
+        }
+
+        return new AssignmentThresholds(limits.get(SHIFT), limits.get(DAY), limits.get(WEEK), sortRules);
+    }
+
+    // Max employees per shift: assignedEmployees < N keeps a shift open
+    public int getMaxEmployeesPerShift() {
+        return maxEmployeesPerShift;
+    }
+
+    public int getMaxShiftsPerDay() {
+        return maxShiftsPerDay;
+    }
+
+    public int getMaxShiftsPerWeek() {
+        return maxShiftsPerWeek;
+    }
+
+    // True when a sorting rule of the table fires for this sort setting
+    public boolean sortsBy(Sort sort) {
+        return sort.getSortEnabled() && sortRules.contains(sort.getSortBy() + ":" + sort.getSortType());
+    }
+
+    @Override
+    public String toString() {
+        return "AssignmentThresholds{" +
+                "maxEmployeesPerShift=" + maxEmployeesPerShift +
+                ", maxShiftsPerDay=" + maxShiftsPerDay +
+                ", maxShiftsPerWeek=" + maxShiftsPerWeek +
+                ", sortRules=" + sortRules +
+                '}';
+    }
+}
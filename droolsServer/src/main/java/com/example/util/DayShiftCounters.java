@@ -0,0 +1,98 @@
+package com.example.util;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Shifts assigned per day as an int array anchored at an epoch day, so
+ * lookups from rules are index arithmetic instead of boxing and hashing.
+ * Days outside the range read as 0 and grow the range when written.
+ */
+public class DayShiftCounters {
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int[] EMPTY = new int[0];
+
+    private long firstEpochDay;
+    private int[] counts;
+
+    public DayShiftCounters() {
+        this.counts = EMPTY;
+    }
+
+    public DayShiftCounters(LocalDate firstDay, int days) {
+        this.firstEpochDay = firstDay.toEpochDay();
+        this.counts = new int[days];
+    }
+
+    public DayShiftCounters(DayShiftCounters other) {
+        this.firstEpochDay = other.firstEpochDay;
+        this.counts = other.counts.length > 0 ? other.counts.clone() : EMPTY;
+    }
+
+    // Anchors the range at firstDay and sets every day to 0
+    public void reset(LocalDate firstDay, int days) {
+        this.firstEpochDay = firstDay.toEpochDay();
+        if (counts.length == days) {
+            Arrays.fill(counts, 0);
+        } else {
+            this.counts = days > 0 ? new int[days] : EMPTY;
+        }
+    }
+
+    public int get(LocalDateTime shiftDate) {
+        // toLocalDate returns the date part held by the LocalDateTime, no copy
+        long index = shiftDate.toLocalDate().toEpochDay() - firstEpochDay;
+        return index >= 0 && index < counts.length ? counts[(int) index] : 0;
+    }
+
+    public void set(LocalDateTime shiftDate, int count) {
+        long epochDay = shiftDate.toLocalDate().toEpochDay();
+        counts[indexFor(epochDay)] = count;
+    }
+
+    public void increment(LocalDateTime shiftDate) {
+        long epochDay = shiftDate.toLocalDate().toEpochDay();
+        counts[indexFor(epochDay)]++;
+    }
+
+    public int getDays() {
+        return counts.length;
+    }
+
+    // Boxed view in day order, for serialization and logging
+    public Map<LocalDate, Integer> toMap() {
+        Map<LocalDate, Integer> map = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            map.put(LocalDate.ofEpochDay(firstEpochDay + i), counts[i]);
+        }
+        return map;
+    }
+
+    private int indexFor(long epochDay) {
+        if (counts.length == 0) {
+            // Not anchored yet: cover the week of the first day written
+            firstEpochDay = LocalDate.ofEpochDay(epochDay).with(DayOfWeek.MONDAY).toEpochDay();
+            counts = new int[DAYS_IN_WEEK];
+        }
+        long index = epochDay - firstEpochDay;
+        if (index < 0) {
+            int[] grown = new int[counts.length - (int) index];
+            System.arraycopy(counts, 0, grown, (int) -index, counts.length);
+            counts = grown;
+            firstEpochDay = epochDay;
+            index = 0;
+        } else if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, (int) index + 1);
+        }
+        return (int) index;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.util;
+
+import org.drools.base.common.DroolsObjectInputStream;
+import org.drools.base.common.DroolsObjectOutputStream;
+import org.drools.decisiontable.DecisionTableProviderImpl;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.io.Resource;
+import org.kie.api.io.ResourceType;
+import org.kie.internal.builder.DecisionTableConfiguration;
+import org.kie.internal.builder.DecisionTableInputType;
+import org.kie.internal.builder.KnowledgeBuilder;
+import org.kie.internal.builder.KnowledgeBuilderFactory;
+import org.kie.internal.io.ResourceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the decision table one RuleTable (agenda group) at a time and
+ * keeps the compiled packages of each group from the previous build, so a
+ * reload only recompiles the groups whose generated DRL changed.
+ */
+public class DecisionTableCompiler {
+    private static final Logger logger = LoggerFactory.getLogger(DecisionTableCompiler.class);
+    private static final Pattern RULE_PATTERN = Pattern.compile("(?ms)^rule\\s+\"[^\"]*\".*?^end\\s*$");
+    private static final Pattern AGENDA_GROUP_PATTERN = Pattern.compile("agenda-group\\s+\"([^\"]*)\"");
+    private static final String DEFAULT_GROUP = "MAIN";
+
+    private final String resourcePath;
+    private final ClassLoader classLoader;
+    // Group DRL (header included) -> serialized packages compiled from it
+    private Map<String, byte[]> compiledGroups = new HashMap<>();
+    private List<String> lastRecompiledGroups = new ArrayList<>();
+    private int lastGroupCount;
+
+    public DecisionTableCompiler(String resourcePath, ClassLoader classLoader) {
+        this.resourcePath = resourcePath;
+        this.classLoader = classLoader;
+    }
+
+    public String toDrl(byte[] decisionTable) {
+        Resource dt = ResourceFactory.newByteArrayResource(decisionTable);
+        dt.setTargetPath(resourcePath);
+
+        DecisionTableProviderImpl decisionTableProvider = new DecisionTableProviderImpl();
+        DecisionTableConfiguration dtConfig = KnowledgeBuilderFactory.newDecisionTableConfiguration();
+        dtConfig.setInputType(DecisionTableInputType.XLSX);
+        return decisionTableProvider.loadFromResource(dt, dtConfig);
+    }
+
+    /**
+     * Builds a new KieBase for the decision table. Groups whose DRL is
+     * unchanged since the previous build reuse their compiled packages.
+     */
+    public synchronized KieBase compile(byte[] decisionTable, KieBaseConfiguration kieBaseConfiguration)
+            throws IOException, ClassNotFoundException {
+        Map<String, String> groupDrls = splitByAgendaGroup(toDrl(decisionTable));
+
+        // Keep the table order so rules load in the same order as a full build
+        Map<String, byte[]> nextCompiledGroups = new LinkedHashMap<>();
+        List<String> recompiledGroups = new ArrayList<>();
+        for (Map.Entry<String, String> group : groupDrls.entrySet()) {
+            byte[] packages = compiledGroups.get(group.getValue());
+            if (packages == null) {
+                packages = compileGroup(group.getKey(), group.getValue());
+                recompiledGroups.add(group.getKey());
+            }
+            nextCompiledGroups.put(group.getValue(), packages);
+        }
+
+        // Packages are merged into the KieBase, so every build gets fresh copies
+        List<KiePackage> kiePackages = new ArrayList<>();
+        for (byte[] packages : nextCompiledGroups.values()) {
+            kiePackages.addAll(deserialize(packages));
+        }
+        InternalKnowledgeBase kieBase = KnowledgeBaseFactory.newKnowledgeBase(kieBaseConfiguration);
+        kieBase.addPackages(kiePackages);
+
+        compiledGroups = nextCompiledGroups;
+        lastRecompiledGroups = recompiledGroups;
+        lastGroupCount = groupDrls.size();
+        return kieBase;
+    }
+
+    public List<String> getLastRecompiledGroups() {
+        return lastRecompiledGroups;
+    }
+
+    public int getLastGroupCount() {
+        return lastGroupCount;
+    }
+
+    /**
+     * Compiled packages of the last build per group DRL, stored next to a
+     * cached KieBase.
+     */
+    public synchronized Map<String, byte[]> getCompiledGroups() {
+        return new LinkedHashMap<>(compiledGroups);
+    }
+
+    /**
+     * Takes over the groups of a cached build, so the first reload after a
+     * start from the cache only recompiles the groups that changed.
+     */
+    public synchronized void restoreCompiledGroups(Map<String, byte[]> groups) {
+        compiledGroups = new LinkedHashMap<>(groups);
+    }
+
+    // Each group gets the package, imports and other non-rule declarations
+    private Map<String, String> splitByAgendaGroup(String drl) {
+        Map<String, StringBuilder> rulesByGroup = new LinkedHashMap<>();
+        StringBuilder header = new StringBuilder();
+        Matcher rule = RULE_PATTERN.matcher(drl);
+        int headerStart = 0;
+        while (rule.find()) {
+            header.append(drl, headerStart, rule.start());
+            headerStart = rule.end();
+
+            Matcher agendaGroup = AGENDA_GROUP_PATTERN.matcher(rule.group());
+            String group = agendaGroup.find() ? agendaGroup.group(1) : DEFAULT_GROUP;
+            rulesByGroup.computeIfAbsent(group, key -> new StringBuilder())
+                    .append(rule.group())
+                    .append("\n\n");
+        }
+        header.append(drl.substring(headerStart));
+
+        Map<String, String> groupDrls = new LinkedHashMap<>();
+        for (Map.Entry<String, StringBuilder> group : rulesByGroup.entrySet()) {
+            groupDrls.put(group.getKey(), header + "\n" + group.getValue());
+        }
+        return groupDrls;
+    }
+
+    private byte[] compileGroup(String group, String drl) throws IOException {
+        KnowledgeBuilder knowledgeBuilder = KnowledgeBuilderFactory.newKnowledgeBuilder();
+        knowledgeBuilder.add(ResourceFactory.newByteArrayResource(drl.getBytes(StandardCharsets.UTF_8)),
+                ResourceType.DRL);
+        if (knowledgeBuilder.hasErrors()) {
+            logger.error("Errors building rule group {}: {}", group, knowledgeBuilder.getErrors());
+            throw new RuntimeException("Failed to build decision table: " + knowledgeBuilder.getErrors());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new DroolsObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(knowledgeBuilder.getKnowledgePackages()));
+        }
+        return bytes.toByteArray();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<KiePackage> deserialize(byte[] packages) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new DroolsObjectInputStream(new ByteArrayInputStream(packages), classLoader)) {
+            return (Collection<KiePackage>) in.readObject();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.util;
+
+import com.example.model.Employee;
+import org.kie.api.event.rule.ObjectDeletedEvent;
+import org.kie.api.event.rule.ObjectInsertedEvent;
+import org.kie.api.event.rule.ObjectUpdatedEvent;
+import org.kie.api.event.rule.RuleRuntimeEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Records which employees were updated in the session since the last
+ * eligibility update, by a rule's modify or by an assignment, and keeps the
+ * eligible employees in roster order. An update then only re-checks the
+ * changed employees instead of scanning the whole roster.
+ */
+public class EmployeeEligibilityTracker implements RuleRuntimeEventListener {
+    private final List<Employee> roster;
+    private final Map<Employee, Integer> positions;
+    private final BitSet changed = new BitSet();
+    private final BitSet eligible = new BitSet();
+    private boolean eligibleChanged;
+
+    public EmployeeEligibilityTracker(List<Employee> employees) {
+        this.roster = new ArrayList<>(employees);
+        this.positions = new HashMap<>(employees.size() * 2);
+        for (int i = 0; i < roster.size(); i++) {
+            positions.put(roster.get(i), i);
+        }
+    }
+
+    @Override
+    public void objectInserted(ObjectInsertedEvent event) {
+    }
+
+    @Override
+    public void objectUpdated(ObjectUpdatedEvent event) {
+        if (event.getObject() instanceof Employee) {
+            Integer position = positions.get(event.getObject());
+            if (position != null) {
+                changed.set(position);
+            }
+        }
+    }
+
+    @Override
+    public void objectDeleted(ObjectDeletedEvent event) {
+    }
+
+    // Employees updated since the previous call, in roster order
+    public List<Employee> takeChanged() {
+        List<Employee> employees = new ArrayList<>(changed.cardinality());
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            employees.add(roster.get(i));
+        }
+        changed.clear();
+        return employees;
+    }
+
+    public void setEligible(Employee employee, boolean isEligible) {
+        Integer position = positions.get(employee);
+        if (position != null && eligible.get(position) != isEligible) {
+            eligible.set(position, isEligible);
+            eligibleChanged = true;
+        }
+    }
+
+    // Whether the eligible set changed since the previous call
+    public boolean takeEligibleChanged() {
+        boolean result = eligibleChanged;
+        eligibleChanged = false;
+        return result;
+    }
+
+    // Eligible employees in roster order, the order a full scan would give
+    public List<Employee> getEligibleEmployees() {
+        List<Employee> employees = new ArrayList<>(eligible.cardinality());
+        for (int i = eligible.nextSetBit(0); i >= 0; i = eligible.nextSetBit(i + 1)) {
+            employees.add(roster.get(i));
+        }
+        return employees;
+    }
+}
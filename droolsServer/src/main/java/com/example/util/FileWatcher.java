@@ -1,80 +1,177 @@
 package com.example.util;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Watches a single file through the file system's change notifications.
+ * Events are debounced so a file written in several chunks triggers one
+ * check, and onChange only runs when the content hash actually changed.
+ */
 public class FileWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(FileWatcher.class);
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
     private final File fileToWatch;
+    private final Path watchedFile;
     private final Runnable onChange;
+    private final long debounceMillis;
     private final ScheduledExecutorService executor;
-    private long lastModified;
-    private long lastSize;
-    private boolean isRunning = false;
+    private WatchService watchService;
+    private Thread watchThread;
+    private ScheduledFuture<?> pendingCheck;
+    private byte[] lastHash;
+    private volatile boolean isRunning = false;
 
     public FileWatcher(File fileToWatch, Runnable onChange) {
+        this(fileToWatch, DEFAULT_DEBOUNCE_MILLIS, onChange);
+    }
+
+    public FileWatcher(File fileToWatch, long debounceMillis, Runnable onChange) {
         this.fileToWatch = fileToWatch;
+        this.watchedFile = fileToWatch.toPath().toAbsolutePath().normalize();
         this.onChange = onChange;
+        this.debounceMillis = debounceMillis;
         this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
             Thread t = new Thread(r, "FileWatcher-" + fileToWatch.getName());
             t.setDaemon(true);
             return t;
         });
-        if (fileToWatch.exists()) {
-            this.lastModified = fileToWatch.lastModified();
-            this.lastSize = fileToWatch.length();
-        } else {
-            this.lastModified = 0;
-            this.lastSize = 0;
-        }
+        this.lastHash = hashFile();
     }
 
-    public void start() {
+    public synchronized void start() {
         if (isRunning) {
             return;
         }
 
+        Path directory = watchedFile.getParent();
+        try {
+            watchService = directory.getFileSystem().newWatchService();
+            // Editors and exporters often replace the file instead of rewriting it
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to watch " + directory, e);
+        }
+
         isRunning = true;
-        System.out.println("Starting file watcher for: " + fileToWatch.getAbsolutePath());
+        logger.info("Starting file watcher for: {}", fileToWatch.getAbsolutePath());
+
+        watchThread = new Thread(this::watchLoop, "FileWatcher-events-" + fileToWatch.getName());
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
 
-        // Check every 1 second for file changes (faster detection for development)
-        executor.scheduleWithFixedDelay(() -> {
+    // Blocks on the watch service, so an unchanged file costs no CPU
+    private void watchLoop() {
+        Path fileName = watchedFile.getFileName();
+        while (isRunning) {
+            WatchKey key;
             try {
-                if (fileToWatch.exists()) {
-                    long currentModified = fileToWatch.lastModified();
-                    long currentSize = fileToWatch.length();
-
-                    // Check both modification time and file size to catch file replacements
-                    if (currentModified != lastModified || currentSize != lastSize) {
-                        System.out.println("File change detected: " + fileToWatch.getName());
-                        System.out.println(
-                                "   Previous: " + new java.util.Date(lastModified) + " (" + lastSize + " bytes)");
-                        System.out.println(
-                                "   Current:  " + new java.util.Date(currentModified) + " (" + currentSize + " bytes)");
-
-                        lastModified = currentModified;
-                        lastSize = currentSize;
-
-                        // Small delay to ensure file write is complete
-                        Thread.sleep(200);
-                        onChange.run();
-                    }
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            boolean relevant = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                // OVERFLOW means events were lost, so check the file anyway
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                    relevant = true;
                 }
-            } catch (Exception e) {
-                System.err.println("Error in file watcher: " + e.getMessage());
             }
-        }, 1, 1, TimeUnit.SECONDS);
+            if (relevant) {
+                scheduleCheck();
+            }
+
+            if (!key.reset()) {
+                logger.error("Watched directory is no longer accessible: {}", watchedFile.getParent());
+                return;
+            }
+        }
     }
 
-    public void stop() {
+    // Restart the debounce window on every event
+    private synchronized void scheduleCheck() {
+        if (!isRunning) {
+            return;
+        }
+        if (pendingCheck != null) {
+            pendingCheck.cancel(false);
+        }
+        pendingCheck = executor.schedule(this::checkForChange, debounceMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void checkForChange() {
+        try {
+            byte[] currentHash = hashFile();
+            if (currentHash == null || Arrays.equals(currentHash, lastHash)) {
+                return;
+            }
+
+            logger.info("File change detected: {} ({} bytes, modified {})", fileToWatch.getName(),
+                    fileToWatch.length(), new java.util.Date(fileToWatch.lastModified()));
+            lastHash = currentHash;
+            onChange.run();
+        } catch (Exception e) {
+            logger.error("Error in file watcher: {}", e.getMessage());
+        }
+    }
+
+    // SHA-256 of the file content, or null while the file does not exist
+    private byte[] hashFile() {
+        if (!Files.isRegularFile(watchedFile)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(watchedFile)) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+            return digest.digest();
+        } catch (IOException e) {
+            // Being replaced right now, the next event triggers another check
+            return null;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public synchronized void stop() {
         if (!isRunning) {
             return;
         }
 
         isRunning = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Error closing watch service: {}", e.getMessage());
+        }
         executor.shutdown();
         try {
+            watchThread.join(TimeUnit.SECONDS.toMillis(5));
             if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
                 executor.shutdownNow();
             }
@@ -82,7 +179,7 @@ public class FileWatcher {
             executor.shutdownNow();
             Thread.currentThread().interrupt();
         }
-        System.out.println("File watcher stopped for: " + fileToWatch.getName());
+        logger.info("File watcher stopped for: {}", fileToWatch.getName());
     }
 
     public boolean isRunning() {
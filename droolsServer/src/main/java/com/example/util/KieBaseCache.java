@@ -0,0 +1,174 @@
+package com.example.util;
+
+import org.drools.base.common.DroolsObjectInputStream;
+import org.drools.base.common.DroolsObjectOutputStream;
+import org.drools.base.util.Drools;
+import org.drools.kiesession.rulebase.InternalKnowledgeBase;
+import org.drools.kiesession.rulebase.KnowledgeBaseFactory;
+import org.kie.api.KieBase;
+import org.kie.api.KieBaseConfiguration;
+import org.kie.api.definition.KiePackage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of compiled rule packages, keyed by a content hash of the
+ * decision table. Loading a cached entry skips POI parsing and DRL
+ * compilation entirely. Each entry also keeps the packages per agenda
+ * group, which the DecisionTableCompiler reuses on the next reload.
+ */
+public class KieBaseCache {
+    private static final Logger logger = LoggerFactory.getLogger(KieBaseCache.class);
+    private static final String CACHE_FILE_EXTENSION = ".kbase";
+    private static final String GROUPS_FILE_EXTENSION = ".groups";
+
+    private final Path cacheDirectory;
+    private final ClassLoader classLoader;
+
+    public KieBaseCache(File cacheDirectory, ClassLoader classLoader) {
+        this.cacheDirectory = cacheDirectory.toPath();
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Cache key for a decision table. Besides the table content it covers the
+     * Drools version and the bytecode of the fact classes the rules are
+     * compiled against, so a changed model never loads stale rules.
+     */
+    public String computeKey(byte[] decisionTable, Class<?>... factClasses) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(decisionTable);
+        digest.update(Drools.getFullVersion().getBytes());
+        for (Class<?> factClass : factClasses) {
+            String classResource = factClass.getName().replace('.', '/') + ".class";
+            try (InputStream in = classLoader.getResourceAsStream(classResource)) {
+                if (in != null) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (byte b : digest.digest()) {
+            key.append(String.format("%02x", b));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the cached KieBase for the key, or null when there is no usable
+     * entry.
+     */
+    @SuppressWarnings("unchecked")
+    public KieBase load(String key, KieBaseConfiguration kieBaseConfiguration) {
+        Path cacheFile = cacheDirectory.resolve(key + CACHE_FILE_EXTENSION);
+        if (!Files.isRegularFile(cacheFile)) {
+            return null;
+        }
+
+        try (ObjectInputStream in = new DroolsObjectInputStream(
+                new BufferedInputStream(Files.newInputStream(cacheFile)), classLoader)) {
+            Collection<KiePackage> packages = (Collection<KiePackage>) in.readObject();
+            InternalKnowledgeBase kieBase = KnowledgeBaseFactory.newKnowledgeBase(kieBaseConfiguration);
+            kieBase.addPackages(packages);
+            return kieBase;
+        } catch (Exception e) {
+            // A corrupt or incompatible entry is rebuilt by the caller
+            logger.warn("Ignoring unreadable KieBase cache entry {}: {}", cacheFile, e.getMessage());
+            try {
+                Files.deleteIfExists(cacheFile);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the compiled packages per group DRL stored with the key, or null
+     * when the entry has none.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, byte[]> loadCompiledGroups(String key) {
+        Path groupsFile = cacheDirectory.resolve(key + GROUPS_FILE_EXTENSION);
+        if (!Files.isRegularFile(groupsFile)) {
+            return null;
+        }
+
+        // The packages stay serialized, so no Drools classes are read here
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(groupsFile)))) {
+            return (Map<String, byte[]>) in.readObject();
+        } catch (Exception e) {
+            // Without them the first reload compiles every group
+            logger.warn("Ignoring unreadable rule group cache entry {}: {}", groupsFile, e.getMessage());
+            try {
+                Files.deleteIfExists(groupsFile);
+            } catch (IOException ignored) {
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the compiled packages of the KieBase and of each rule group under
+     * the key and removes entries of previous decision table versions.
+     */
+    public void store(String key, KieBase kieBase, Map<String, byte[]> compiledGroups) throws IOException {
+        Files.createDirectories(cacheDirectory);
+        Path cacheFile = cacheDirectory.resolve(key + CACHE_FILE_EXTENSION);
+        Path groupsFile = cacheDirectory.resolve(key + GROUPS_FILE_EXTENSION);
+        Path tempFile = Files.createTempFile(cacheDirectory, key, ".tmp");
+
+        try {
+            try (ObjectOutputStream out = new DroolsObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeObject(new ArrayList<>(kieBase.getKiePackages()));
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            try (ObjectOutputStream out = new ObjectOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeObject(compiledGroups);
+            }
+            Files.move(tempFile, groupsFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            entries.filter(entry -> entry.getFileName().toString().endsWith(CACHE_FILE_EXTENSION)
+                            || entry.getFileName().toString().endsWith(GROUPS_FILE_EXTENSION))
+                    .filter(entry -> !entry.equals(cacheFile) && !entry.equals(groupsFile))
+                    .forEach(entry -> {
+                        try {
+                            Files.deleteIfExists(entry);
+                        } catch (IOException e) {
+                            logger.warn("Failed to remove old KieBase cache entry {}: {}", entry, e.getMessage());
+                        }
+                    });
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.example.util;
+
+import com.example.dto.KieSessionPoolStats;
+import org.kie.api.KieBase;
+import org.kie.api.definition.KiePackage;
+import org.kie.api.definition.rule.Global;
+import org.kie.api.runtime.KieSession;
+import org.kie.api.runtime.rule.FactHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of stateful KieSessions created from one KieBase. Each
+ * borrowed session is used by a single run and is wiped before it is handed
+ * out again, so concurrent runs never share working memory.
+ */
+public class KieSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(KieSessionPool.class);
+    // Global the decision table actions trace through, declared under Variables
+    public static final String RULE_LOG_GLOBAL = "ruleLog";
+    private static final AssignmentLog RULE_LOG = new AssignmentLog(LoggerFactory.getLogger("com.example.rules"), false);
+    private static final AssignmentLog FORCED_RULE_LOG = new AssignmentLog(LoggerFactory.getLogger("com.example.rules"), true);
+
+    private final KieBase kieBase;
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    // Null unless rule profiling is turned on
+    private final RuleProfiler ruleProfiler;
+    private final boolean declaresRuleLog;
+    private final LinkedBlockingDeque<KieSession> idleSessions;
+    private final Semaphore permits;
+    private volatile boolean closed = false;
+    // Leases handed out and not yet returned, including borrowers still waiting
+    private final AtomicInteger activeLeases = new AtomicInteger();
+    private volatile Runnable onDrained;
+    private final AtomicBoolean drained = new AtomicBoolean(false);
+
+    // Pool metrics
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong discardedCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    public KieSessionPool(KieBase kieBase, int maxSize, long borrowTimeoutMillis) {
+        this(kieBase, maxSize, borrowTimeoutMillis, null);
+    }
+
+    public KieSessionPool(KieBase kieBase, int maxSize, long borrowTimeoutMillis, RuleProfiler ruleProfiler) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("KieSession pool size must be greater than 0");
+        }
+        this.kieBase = kieBase;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.ruleProfiler = ruleProfiler;
+        this.declaresRuleLog = declaresGlobal(kieBase, RULE_LOG_GLOBAL);
+        this.idleSessions = new LinkedBlockingDeque<>();
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    public KieBase getKieBase() {
+        return kieBase;
+    }
+
+    private static boolean declaresGlobal(KieBase kieBase, String name) {
+        for (KiePackage kiePackage : kieBase.getKiePackages()) {
+            for (Global global : kiePackage.getGlobalVariables()) {
+                if (global.getName().equals(name)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A borrowed session; closing the lease hands the session back to the pool
+     * it came from, even if the rule base was reloaded in the meantime.
+     */
+    public static class Lease implements AutoCloseable {
+        private final KieSessionPool pool;
+        private final KieSession kieSession;
+        private final AtomicBoolean returned = new AtomicBoolean(false);
+
+        private Lease(KieSessionPool pool, KieSession kieSession) {
+            this.pool = pool;
+            this.kieSession = kieSession;
+        }
+
+        public KieSession getKieSession() {
+            return kieSession;
+        }
+
+        /**
+         * Writes the rule trace of this run at info level, for requests that
+         * turned debug output on. The session goes back to the default trace
+         * when it is returned.
+         */
+        public void forceRuleTrace() {
+            pool.setRuleLog(kieSession, FORCED_RULE_LOG);
+        }
+
+        @Override
+        public void close() {
+            if (returned.compareAndSet(false, true)) {
+                pool.returnSession(kieSession);
+            }
+        }
+    }
+
+    public Lease borrowSession() {
+        Lease lease = tryBorrowSession();
+        if (lease == null) {
+            throw new IllegalStateException("KieSession pool is closed");
+        }
+        return lease;
+    }
+
+    /**
+     * Like {@link #borrowSession()}, but returns null instead of failing when
+     * the pool is closed before or while waiting, so the caller can retry on
+     * the pool of a newer rule base.
+     */
+    public Lease tryBorrowSession() {
+        activeLeases.incrementAndGet();
+        if (closed) {
+            leaseEnded();
+            return null;
+        }
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    leaseEnded();
+                    return null;
+                }
+                timeoutCount.incrementAndGet();
+                leaseEnded();
+                throw new IllegalStateException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a free KieSession (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            leaseEnded();
+            throw new IllegalStateException("Interrupted while waiting for a free KieSession", e);
+        }
+        totalWaitNanos.addAndGet(System.nanoTime() - waitStart);
+
+        if (closed) {
+            permits.release();
+            leaseEnded();
+            return null;
+        }
+
+        try {
+            KieSession session = idleSessions.pollFirst();
+            if (session == null) {
+                session = kieBase.newKieSession();
+                // Stays attached across resets, which only remove facts
+                if (ruleProfiler != null) {
+                    session.addEventListener(ruleProfiler.newSessionListener());
+                }
+                setRuleLog(session, RULE_LOG);
+                createdCount.incrementAndGet();
+            }
+            borrowCount.incrementAndGet();
+            return new Lease(this, session);
+        } catch (RuntimeException e) {
+            releasePermit();
+            leaseEnded();
+            throw e;
+        }
+    }
+
+    private void returnSession(KieSession session) {
+        try {
+            if (closed) {
+                session.dispose();
+                return;
+            }
+            reset(session);
+            idleSessions.offerFirst(session);
+            // The pool may have been closed while this session was being reset
+            if (closed && idleSessions.remove(session)) {
+                disposeQuietly(session);
+            }
+        } catch (Exception e) {
+            // A session that cannot be wiped is not reused
+            logger.warn("Discarding KieSession that failed to reset: {}", e.getMessage());
+            discardedCount.incrementAndGet();
+            disposeQuietly(session);
+        } finally {
+            releasePermit();
+            leaseEnded();
+        }
+    }
+
+    // A closed pool stops counting permits: close() released enough for
+    // every waiter, and giving back more would grow the semaphore past maxSize
+    private void releasePermit() {
+        if (!closed) {
+            permits.release();
+        }
+    }
+
+    private void leaseEnded() {
+        if (activeLeases.decrementAndGet() == 0 && closed) {
+            fireDrained();
+        }
+    }
+
+    private void fireDrained() {
+        Runnable callback = onDrained;
+        if (callback != null && drained.compareAndSet(false, true)) {
+            try {
+                callback.run();
+            } catch (Exception e) {
+                logger.warn("Error releasing closed KieSession pool: {}", e.getMessage());
+            }
+        }
+    }
+
+    // Remove every fact, which also cancels their pending activations
+    private void reset(KieSession session) {
+        List<FactHandle> factHandles = new ArrayList<>(session.getFactHandles());
+        for (FactHandle factHandle : factHandles) {
+            if (factHandle != null) {
+                session.delete(factHandle);
+            }
+        }
+        setRuleLog(session, RULE_LOG);
+    }
+
+    // Tables without the global have nothing to set
+    private void setRuleLog(KieSession session, AssignmentLog ruleLog) {
+        if (declaresRuleLog) {
+            session.setGlobal(RULE_LOG_GLOBAL, ruleLog);
+        }
+    }
+
+    public void close() {
+        close(null);
+    }
+
+    /**
+     * Stops handing out sessions. Idle sessions are disposed right away and
+     * borrowed ones when they are returned; onDrained runs once the last
+     * borrowed session is back, so the caller can release the rule base.
+     * Borrowers waiting for a permit are woken and get null right away.
+     */
+    public void close(Runnable onDrained) {
+        this.onDrained = onDrained;
+        closed = true;
+        // Each woken borrower sees the pool closed and passes its permit on
+        permits.release(maxSize);
+        KieSession session;
+        while ((session = idleSessions.pollFirst()) != null) {
+            disposeQuietly(session);
+        }
+        if (activeLeases.get() == 0) {
+            fireDrained();
+        }
+    }
+
+    private void disposeQuietly(KieSession session) {
+        try {
+            session.dispose();
+        } catch (Exception e) {
+            logger.warn("Error disposing KieSession: {}", e.getMessage());
+        }
+    }
+
+    public KieSessionPoolStats getStats() {
+        KieSessionPoolStats stats = new KieSessionPoolStats();
+        stats.setMaxSize(maxSize);
+        stats.setBorrowTimeoutMillis(borrowTimeoutMillis);
+        // Permits stop matching sessions once the pool is closed
+        stats.setInUse(closed ? 0 : maxSize - permits.availablePermits());
+        stats.setIdle(idleSessions.size());
+        stats.setWaiting(permits.getQueueLength());
+        stats.setCreated(createdCount.get());
+        stats.setBorrowed(borrowCount.get());
+        stats.setTimeouts(timeoutCount.get());
+        stats.setDiscarded(discardedCount.get());
+        long borrowed = borrowCount.get();
+        stats.setAverageWaitMillis(borrowed > 0
+                ? TimeUnit.NANOSECONDS.toMicros(totalWaitNanos.get()) / 1000.0 / borrowed
+                : 0.0);
+        return stats;
+    }
+}
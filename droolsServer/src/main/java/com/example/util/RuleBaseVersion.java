@@ -0,0 +1,94 @@
+package com.example.util;
+
+import org.kie.api.KieBase;
+import org.kie.api.runtime.KieContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * One published version of the compiled decision table together with the
+ * session pool serving it. Versions are immutable; a reload builds a new one
+ * and swaps it in, while runs that already borrowed a session finish on the
+ * version they started with.
+ */
+public class RuleBaseVersion {
+    private static final Logger logger = LoggerFactory.getLogger(RuleBaseVersion.class);
+    private final long version;
+    private final KieBase kieBase;
+    private final KieContainer kieContainer;
+    private final KieSessionPool sessionPool;
+    private final String source;
+    private final long loadMillis;
+    private final LocalDateTime loadedAt;
+    private final byte[] decisionTable;
+    // Read from the decision table the first time the fast path needs them
+    private boolean thresholdsResolved;
+    private AssignmentThresholds assignmentThresholds;
+
+    public RuleBaseVersion(long version, KieBase kieBase, KieContainer kieContainer, KieSessionPool sessionPool,
+            String source, long loadMillis, byte[] decisionTable) {
+        this.version = version;
+        this.kieBase = kieBase;
+        this.kieContainer = kieContainer;
+        this.sessionPool = sessionPool;
+        this.source = source;
+        this.loadMillis = loadMillis;
+        this.loadedAt = LocalDateTime.now();
+        this.decisionTable = decisionTable;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public KieBase getKieBase() {
+        return kieBase;
+    }
+
+    public KieSessionPool getSessionPool() {
+        return sessionPool;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Fast-path thresholds of this version's decision table, or null when its
+     * rules are not supported by the fast path.
+     */
+    public synchronized AssignmentThresholds getAssignmentThresholds(Function<byte[], String> toDrl) {
+        if (!thresholdsResolved) {
+            assignmentThresholds = AssignmentThresholds.fromDrl(toDrl.apply(decisionTable));
+            thresholdsResolved = true;
+        }
+        return assignmentThresholds;
+    }
+
+    /**
+     * Closes the session pool and disposes the container once the last
+     * borrowed session of this version has been returned.
+     */
+    public void retire(Runnable onReleased) {
+        sessionPool.close(() -> {
+            if (kieContainer != null) {
+                kieContainer.dispose();
+            }
+            logger.info("Rule base version {} released", version);
+            if (onReleased != null) {
+                onReleased.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.util;
+
+import com.example.dto.RuleProfile;
+import com.example.dto.RuleProfileEntry;
+import org.kie.api.event.rule.AfterMatchFiredEvent;
+import org.kie.api.event.rule.BeforeMatchFiredEvent;
+import org.kie.api.event.rule.DefaultAgendaEventListener;
+import org.kie.api.event.rule.MatchCancelledEvent;
+import org.kie.api.event.rule.MatchCreatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-rule statistics of all pooled sessions: matches created and cancelled,
+ * fires and the time spent in consequences. Each session gets its own
+ * listener from newSessionListener, attached when the pool creates it;
+ * sessions without one pay nothing. Condition evaluation is lazy in Phreak
+ * and happens inside fireAllRules, so it is not part of the rule times.
+ */
+public class RuleProfiler {
+    private final Map<String, RuleStats> rules = new ConcurrentHashMap<>();
+    private volatile LocalDateTime since = LocalDateTime.now();
+
+    public DefaultAgendaEventListener newSessionListener() {
+        return new SessionListener();
+    }
+
+    public void reset() {
+        rules.clear();
+        since = LocalDateTime.now();
+    }
+
+    // Rules ordered by the time spent in their consequences, highest first
+    public RuleProfile getProfile() {
+        List<RuleProfileEntry> entries = new ArrayList<>(rules.size());
+        for (Map.Entry<String, RuleStats> rule : rules.entrySet()) {
+            RuleStats stats = rule.getValue();
+            RuleProfileEntry entry = new RuleProfileEntry();
+            entry.setRuleName(rule.getKey());
+            entry.setMatches(stats.matches.sum());
+            entry.setCancelledMatches(stats.cancelledMatches.sum());
+            long fires = stats.fires.sum();
+            long fireNanos = stats.fireNanos.sum();
+            entry.setFires(fires);
+            entry.setTotalMillis(TimeUnit.NANOSECONDS.toMicros(fireNanos) / 1000.0);
+            entry.setAverageMicros(fires > 0 ? fireNanos / 1000.0 / fires : 0.0);
+            entries.add(entry);
+        }
+        entries.sort(Comparator.comparingDouble(RuleProfileEntry::getTotalMillis).reversed());
+
+        RuleProfile profile = new RuleProfile();
+        profile.setEnabled(true);
+        profile.setSince(since);
+        profile.setRules(entries);
+        return profile;
+    }
+
+    private RuleStats stats(String ruleName) {
+        return rules.computeIfAbsent(ruleName, name -> new RuleStats());
+    }
+
+    private static class RuleStats {
+        final LongAdder matches = new LongAdder();
+        final LongAdder cancelledMatches = new LongAdder();
+        final LongAdder fires = new LongAdder();
+        final LongAdder fireNanos = new LongAdder();
+    }
+
+    // A session fires on one thread at a time, so the start time needs no sync
+    private class SessionListener extends DefaultAgendaEventListener {
+        private long fireStart;
+
+        @Override
+        public void matchCreated(MatchCreatedEvent event) {
+            stats(event.getMatch().getRule().getName()).matches.increment();
+        }
+
+        @Override
+        public void matchCancelled(MatchCancelledEvent event) {
+            stats(event.getMatch().getRule().getName()).cancelledMatches.increment();
+        }
+
+        @Override
+        public void beforeMatchFired(BeforeMatchFiredEvent event) {
+            fireStart = System.nanoTime();
+        }
+
+        @Override
+        public void afterMatchFired(AfterMatchFiredEvent event) {
+            long nanos = System.nanoTime() - fireStart;
+            RuleStats stats = stats(event.getMatch().getRule().getName());
+            stats.fires.increment();
+            stats.fireNanos.add(nanos);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.util;
+
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftDateId;
+import com.example.model.Shift_Date;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory (shiftId, shiftDate) -> assigned employee count lookup, built
+ * once from a loaded result set instead of counting per shift.
+ */
+public class ShiftAssignmentCountIndex {
+    private final Map<ShiftDateId, Integer> counts;
+
+    public ShiftAssignmentCountIndex() {
+        this.counts = new HashMap<>();
+    }
+
+    public static ShiftAssignmentCountIndex fromAssignments(List<ShiftAssignment> assignments) {
+        ShiftAssignmentCountIndex index = new ShiftAssignmentCountIndex();
+        for (ShiftAssignment assignment : assignments) {
+            index.add(assignment.getShiftId(), assignment.getShiftDate(), 1);
+        }
+        return index;
+    }
+
+    public void add(int shiftId, LocalDateTime shiftDate, int count) {
+        counts.merge(new ShiftDateId(shiftId, shiftDate), count, Integer::sum);
+    }
+
+    public int getCount(int shiftId, LocalDateTime shiftDate) {
+        return counts.getOrDefault(new ShiftDateId(shiftId, shiftDate), 0);
+    }
+
+    public int getCount(Shift_Date shiftDate) {
+        return getCount(shiftDate.getShiftId(), shiftDate.getShiftDate());
+    }
+
+    public int getSize() {
+        return counts.size();
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.service;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.ShiftEnrollment;
+import com.example.model.Shift_Date;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Wires the assignment services the way Spring would, without an
+ * application context or a database, and builds the synthetic rosters and
+ * decision table variants the tests run on.
+ */
+class AssignmentTestSupport {
+    static final String DECISION_TABLE = "src/main/resources/dtables/drools_decisiontable.drl.xlsx";
+    private static final String SHARED_STRINGS = "xl/sharedStrings.xml";
+    private static final int FIRST_SHIFT_ID = 3;
+    private static final int LAST_SHIFT_ID = 6;
+    private static final int MAX_ENROLLMENTS_PER_EMPLOYEE = 6;
+
+    /**
+     * A started DroolsService compiling the given table, with the prebuilt
+     * model and the KieBase cache turned off.
+     */
+    static DroolsService newDroolsService(String decisionTablePath, int sessionPoolMaxSize) {
+        DroolsService droolsService = new DroolsService();
+        inject(droolsService, "decisionTablePath", decisionTablePath);
+        inject(droolsService, "sessionPoolMaxSize", sessionPoolMaxSize);
+        inject(droolsService, "sessionPoolBorrowTimeoutMillis", 30000L);
+        inject(droolsService, "kieBaseCacheEnabled", false);
+        inject(droolsService, "kieBaseCacheDir", ".kiebase-cache");
+        inject(droolsService, "prebuiltModelEnabled", false);
+        inject(droolsService, "hotReloadDebounceMillis", 500L);
+        droolsService.init();
+        return droolsService;
+    }
+
+    static AutoAssignmentService newAutoAssignmentService(DroolsService droolsService) {
+        AutoAssignmentService autoAssignmentService = new AutoAssignmentService();
+        inject(autoAssignmentService, "droolsService", droolsService);
+        inject(autoAssignmentService, "fastPathEngine", new FastPathAssignmentEngine());
+        inject(autoAssignmentService, "metrics", new AutoAssignmentMetrics(new SimpleMeterRegistry()));
+        return autoAssignmentService;
+    }
+
+    /**
+     * Copy of the decision table with cell texts replaced, e.g. "&lt; 12"
+     * with "&lt; 1" for a weekly limit of one. The copy is deleted on exit.
+     */
+    static String decisionTableWith(Map<String, String> replacements) throws IOException {
+        Path copy = Files.createTempFile("drools_decisiontable", ".drl.xlsx");
+        copy.toFile().deleteOnExit();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(Path.of(DECISION_TABLE)));
+                ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(copy))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                byte[] data = in.readAllBytes();
+                if (entry.getName().equals(SHARED_STRINGS)) {
+                    String strings = new String(data, StandardCharsets.UTF_8);
+                    for (Map.Entry<String, String> replacement : replacements.entrySet()) {
+                        String cell = ">" + replacement.getKey() + "<";
+                        if (!strings.contains(cell)) {
+                            throw new IllegalArgumentException("Decision table has no cell " + replacement.getKey());
+                        }
+                        strings = strings.replace(cell, ">" + replacement.getValue() + "<");
+                    }
+                    data = strings.getBytes(StandardCharsets.UTF_8);
+                }
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return copy.toString();
+    }
+
+    /**
+     * A deterministic next-week roster, built like the benchmarks'
+     * RosterGenerator: the part-time shifts of every day, one to six
+     * enrollments per employee and an existing approved assignment for
+     * about a quarter of them. The same seed always gives the same roster.
+     */
+    static Roster generateRoster(int employeeCount, long seed) {
+        Random random = new Random(seed);
+        LocalDate nextMonday = LocalDate.now().plusDays(8 - LocalDate.now().getDayOfWeek().getValue());
+        LocalDateTime weekStart = nextMonday.atStartOfDay();
+
+        List<Shift_Date> shiftDates = new ArrayList<>();
+        for (int day = 0; day < 7; day++) {
+            for (int shiftId = FIRST_SHIFT_ID; shiftId <= LAST_SHIFT_ID; shiftId++) {
+                shiftDates.add(new Shift_Date(shiftId, weekStart.plusDays(day), 0, false, false));
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        List<ShiftEnrollment> enrollments = new ArrayList<>();
+        List<ShiftAssignment> existingAssignments = new ArrayList<>();
+        for (int employeeId = 1; employeeId <= employeeCount; employeeId++) {
+            Employee employee = new Employee(employeeId, random.nextInt(3), random.nextInt(2));
+            employee.resetAssignedShiftInDay(nextMonday, 7);
+            employees.add(employee);
+
+            Set<Shift_Date> taken = new HashSet<>();
+            if (random.nextInt(4) == 0) {
+                Shift_Date shift = shiftDates.get(random.nextInt(shiftDates.size()));
+                if (shift.getAssignedEmployees() < 2) {
+                    existingAssignments.add(new ShiftAssignment(employee, shift, "approved"));
+                    shift.setAssignedEmployees(shift.getAssignedEmployees() + 1);
+                    employee.incrementAssignedShiftInDay(shift.getShiftDate());
+                    employee.setAssingedShiftInWeek(employee.getAssignedShiftInWeek() + 1);
+                    taken.add(shift);
+                }
+            }
+
+            int enrollmentCount = 1 + random.nextInt(MAX_ENROLLMENTS_PER_EMPLOYEE);
+            for (int i = 0; i < enrollmentCount; i++) {
+                Shift_Date shift = shiftDates.get(random.nextInt(shiftDates.size()));
+                if (taken.add(shift)) {
+                    enrollments.add(new ShiftEnrollment(employee, shift));
+                }
+            }
+        }
+        return new Roster(employees, shiftDates, enrollments, existingAssignments);
+    }
+
+    // Employee, shift, date and status of each assignment, in order
+    static List<String> describe(List<ShiftAssignment> assignments) {
+        List<String> described = new ArrayList<>(assignments.size());
+        for (ShiftAssignment assignment : assignments) {
+            described.add(assignment.getEmployeeId() + "/" + assignment.getShiftId() + "/"
+                    + assignment.getShiftDate() + "/" + assignment.getAssignmentStatus());
+        }
+        return described;
+    }
+
+    static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException(target.getClass().getSimpleName() + " has no field " + fieldName);
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    /**
+     * The working set of one run. Runs remove deleted employees and shifts
+     * from the lists they get, so each run takes fresh copies of them.
+     */
+    static class Roster {
+        final List<Employee> employees;
+        final List<Shift_Date> shiftDates;
+        final List<ShiftEnrollment> enrollments;
+        final List<ShiftAssignment> existingAssignments;
+
+        Roster(List<Employee> employees, List<Shift_Date> shiftDates, List<ShiftEnrollment> enrollments,
+                List<ShiftAssignment> existingAssignments) {
+            this.employees = employees;
+            this.shiftDates = shiftDates;
+            this.enrollments = enrollments;
+            this.existingAssignments = existingAssignments;
+        }
+
+        LocalDate firstDay() {
+            return shiftDates.get(0).getShiftDate().toLocalDate();
+        }
+    }
+}
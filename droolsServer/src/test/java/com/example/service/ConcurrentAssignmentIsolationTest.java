@@ -0,0 +1,124 @@
+package com.example.service;
+
+import com.example.dto.KieSessionPoolStats;
+import com.example.model.ShiftAssignment;
+import com.example.service.AssignmentTestSupport.Roster;
+import com.example.util.KieSessionPool;
+import com.example.util.Sort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs started together on one DroolsService, with fewer pooled sessions
+ * than runs, must each get the result they get alone, and every session
+ * must come back to the pool without facts.
+ */
+class ConcurrentAssignmentIsolationTest {
+    private static final int POOL_SIZE = 2;
+    private static final int RUNS = 8;
+    private static final int ROUNDS = 3;
+
+    private DroolsService droolsService;
+    private AutoAssignmentService autoAssignmentService;
+
+    @BeforeEach
+    void setUp() {
+        droolsService = AssignmentTestSupport.newDroolsService(AssignmentTestSupport.DECISION_TABLE, POOL_SIZE);
+        autoAssignmentService = AssignmentTestSupport.newAutoAssignmentService(droolsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        droolsService.cleanup();
+    }
+
+    @Test
+    void concurrentRunsMatchTheirSingleThreadedResults() {
+        // A leaked fact can keep a run from terminating, so fail instead of waiting on it
+        assertTimeoutPreemptively(Duration.ofMinutes(2), this::runConcurrently);
+    }
+
+    private void runConcurrently() throws Exception {
+        // Different sizes, seeds and sorts, so a leaked fact changes some result
+        List<Integer> sizes = new ArrayList<>();
+        List<Long> seeds = new ArrayList<>();
+        List<Sort> sorts = new ArrayList<>();
+        List<List<String>> expected = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            sizes.add(i % 2 == 0 ? 100 : 300);
+            seeds.add(1000L + i);
+            sorts.add(i % 3 == 0 ? new Sort()
+                    : i % 3 == 1 ? new Sort(true, Sort.SortBy.PRIORITY, Sort.SortType.DESCENDING)
+                    : new Sort(true, Sort.SortBy.ASSIGNEDSHIFTINWEEK, Sort.SortType.ASCENDING));
+            expected.add(run(sizes.get(i), seeds.get(i), sorts.get(i)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(RUNS, r -> {
+            Thread thread = new Thread(r, "concurrent-assignment-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<List<String>>> results = new ArrayList<>();
+                for (int i = 0; i < RUNS; i++) {
+                    int run = i;
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return run(sizes.get(run), seeds.get(run), sorts.get(run));
+                    }));
+                }
+                start.countDown();
+                for (int i = 0; i < RUNS; i++) {
+                    assertEquals(expected.get(i), results.get(i).get(60, TimeUnit.SECONDS),
+                            "run " + i + " of round " + round);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        KieSessionPoolStats stats = droolsService.getSessionPoolStats();
+        assertTrue(stats.getCreated() <= POOL_SIZE, "created " + stats.getCreated() + " sessions");
+        assertEquals(RUNS * (ROUNDS + 1), stats.getBorrowed());
+        assertEquals(0, stats.getDiscarded());
+        assertEquals(stats.getCreated(), stats.getIdle());
+
+        // Holding every lease at once hands out each returned session
+        List<KieSessionPool.Lease> leases = new ArrayList<>();
+        try {
+            for (int i = 0; i < stats.getCreated(); i++) {
+                leases.add(droolsService.borrowKieSession());
+            }
+            for (KieSessionPool.Lease lease : leases) {
+                assertTrue(lease.getKieSession().getFactHandles().isEmpty(),
+                        lease.getKieSession().getFactHandles().size() + " facts left in a returned session");
+            }
+        } finally {
+            leases.forEach(KieSessionPool.Lease::close);
+        }
+    }
+
+    private List<String> run(int employeeCount, long seed, Sort sort) {
+        Roster roster = AssignmentTestSupport.generateRoster(employeeCount, seed);
+        List<ShiftAssignment> assignments = autoAssignmentService.executeAssignmentLogic(
+                new ArrayList<>(roster.employees), new ArrayList<>(roster.shiftDates), roster.enrollments,
+                roster.existingAssignments, sort);
+        return AssignmentTestSupport.describe(assignments);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.service;
+
+import com.example.model.Employee;
+import com.example.model.ShiftAssignment;
+import com.example.model.Shift_Date;
+import com.example.service.AssignmentTestSupport.Roster;
+import com.example.util.AssignmentThresholds;
+import com.example.util.Sort;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * The fast path must make the same assignments in the same order as the
+ * decision table flow, and leave the same shift, day and week counts, for
+ * every sort setting and for tables with other limits than the shipped one.
+ */
+class FastPathEquivalenceTest {
+    private static final Map<String, DroolsService> DROOLS_SERVICES = new LinkedHashMap<>();
+
+    @BeforeAll
+    static void startRuleBases() throws Exception {
+        DROOLS_SERVICES.put("shipped", AssignmentTestSupport.newDroolsService(
+                AssignmentTestSupport.DECISION_TABLE, 1));
+        // Every employee with an existing assignment is full for the week
+        DROOLS_SERVICES.put("weekly-limit-1", AssignmentTestSupport.newDroolsService(
+                AssignmentTestSupport.decisionTableWith(Map.of("&lt; 12", "&lt; 1", "&gt;= 12", "&gt;= 1")), 1));
+        // One employee per shift and one shift per day
+        DROOLS_SERVICES.put("one-per-shift-and-day", AssignmentTestSupport.newDroolsService(
+                AssignmentTestSupport.decisionTableWith(Map.of("&lt; 2", "&lt; 1", "&gt;= 2", "&gt;= 1")), 1));
+    }
+
+    @AfterAll
+    static void stopRuleBases() {
+        DROOLS_SERVICES.values().forEach(DroolsService::cleanup);
+    }
+
+    static Stream<Arguments> runs() {
+        List<Sort> sorts = new ArrayList<>();
+        sorts.add(new Sort());
+        for (Sort.SortBy sortBy : Sort.SortBy.values()) {
+            for (Sort.SortType sortType : Sort.SortType.values()) {
+                sorts.add(new Sort(true, sortBy, sortType));
+            }
+        }
+        List<Arguments> runs = new ArrayList<>();
+        for (String table : List.of("shipped", "weekly-limit-1", "one-per-shift-and-day")) {
+            for (int employees : new int[] { 10, 100, 1000 }) {
+                for (long seed : new long[] { 42, 7 }) {
+                    for (Sort sort : sorts) {
+                        runs.add(Arguments.of(table, employees, seed, sort.getSortEnabled(), sort.getSortBy(),
+                                sort.getSortType()));
+                    }
+                }
+            }
+        }
+        return runs.stream();
+    }
+
+    @ParameterizedTest(name = "{0} table, {1} employees, seed {2}, sort {3} {4} {5}")
+    @MethodSource("runs")
+    void fastPathMatchesDrools(String table, int employeeCount, long seed, boolean sortEnabled,
+            Sort.SortBy sortBy, Sort.SortType sortType) {
+        DroolsService droolsService = DROOLS_SERVICES.get(table);
+        AssignmentThresholds thresholds = droolsService.getAssignmentThresholds();
+        assertNotNull(thresholds, "fast path rejected the " + table + " table");
+        AutoAssignmentService autoAssignmentService = AssignmentTestSupport.newAutoAssignmentService(droolsService);
+        Sort sort = new Sort(sortEnabled, sortBy, sortType);
+
+        Roster droolsRoster = AssignmentTestSupport.generateRoster(employeeCount, seed);
+        List<Employee> droolsEmployees = new ArrayList<>(droolsRoster.employees);
+        List<Shift_Date> droolsShifts = new ArrayList<>(droolsRoster.shiftDates);
+        List<ShiftAssignment> droolsAssignments = autoAssignmentService.executeAssignmentLogic(
+                new ArrayList<>(droolsEmployees), new ArrayList<>(droolsShifts), droolsRoster.enrollments,
+                droolsRoster.existingAssignments, sort);
+
+        Roster fastRoster = AssignmentTestSupport.generateRoster(employeeCount, seed);
+        List<ShiftAssignment> fastAssignments = new FastPathAssignmentEngine().assign(
+                new ArrayList<>(fastRoster.employees), new ArrayList<>(fastRoster.shiftDates),
+                fastRoster.enrollments, fastRoster.existingAssignments, sort, thresholds);
+
+        assertEquals(AssignmentTestSupport.describe(droolsAssignments),
+                AssignmentTestSupport.describe(fastAssignments), "assignments");
+
+        // Drools counts on the entities; the fast path only reads them, so add its assignments up
+        assertEquals(counters(droolsRoster, droolsEmployees, droolsShifts, List.of()),
+                counters(fastRoster, fastRoster.employees, fastRoster.shiftDates, fastAssignments), "counters");
+    }
+
+    // Week and per-day counts of every employee and assigned counts of every shift
+    private static Map<String, Integer> counters(Roster roster, List<Employee> employees,
+            List<Shift_Date> shiftDates, List<ShiftAssignment> addedAssignments) {
+        Map<String, Integer> counters = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            counters.put("employee " + employee.getEmployeeId() + " week", employee.getAssignedShiftInWeek());
+            for (int day = 0; day < 7; day++) {
+                LocalDateTime date = roster.firstDay().plusDays(day).atStartOfDay();
+                counters.put("employee " + employee.getEmployeeId() + " " + date.toLocalDate(),
+                        employee.getAssignedShiftInDay(date));
+            }
+        }
+        for (Shift_Date shiftDate : shiftDates) {
+            counters.put("shift " + shiftDate.getShiftId() + " " + shiftDate.getShiftDate(),
+                    shiftDate.getAssignedEmployees());
+        }
+
+        Map<String, Integer> added = new HashMap<>();
+        for (ShiftAssignment assignment : addedAssignments) {
+            added.merge("employee " + assignment.getEmployeeId() + " week", 1, Integer::sum);
+            added.merge("employee " + assignment.getEmployeeId() + " " + assignment.getShiftDate().toLocalDate(),
+                    1, Integer::sum);
+            added.merge("shift " + assignment.getShiftId() + " " + assignment.getShiftDate(), 1, Integer::sum);
+        }
+        added.forEach((key, count) -> counters.merge(key, count, Integer::sum));
+        return counters;
+    }
+}